@@ -0,0 +1,45 @@
+package astrolabe.simulation.core;
+
+public class AlidadeFace {
+    // Geometry of the alidade: a rule along the x axis with a sighting vane at each end,
+    // turned clockwise by the given rotation in degrees
+    private static final Pen RULE_PEN = Pen.rgb(200, 200, 200).width(2);
+    private static final Pen VANE_PEN = Pen.rgb(80, 80, 80).width(0).fill(80, 80, 80);
+
+    private final double length;
+
+    public AlidadeFace(double length) {
+        this.length = length;
+    }
+
+    public void draw(PlateRenderer r, double rotation) {
+        double cos = Math.cos(Math.toRadians(rotation));
+        double sin = Math.sin(Math.toRadians(rotation));
+
+        // Main rule
+        r.line(-length/2 * cos, -length/2 * sin, length/2 * cos, length/2 * sin, RULE_PEN);
+
+        // Sighting vanes
+        r.polygon(rotate(new double[]{-length/2 - 5, -10, -length/2, -10, -length/2, 10, -length/2 - 5, 10}, cos, sin), VANE_PEN);
+        r.polygon(rotate(new double[]{length/2, -10, length/2 + 5, -10, length/2 + 5, 10, length/2, 10}, cos, sin), VANE_PEN);
+    }
+
+    // Angle reading beside the hub, as the on-screen alidade shows it
+    public void drawReading(PlateRenderer r, double rotation) {
+        double x = 20 * Math.cos(Math.toRadians(rotation + 90));
+        double y = 20 * Math.sin(Math.toRadians(rotation + 90));
+        double cos = Math.cos(Math.toRadians(rotation));
+        double sin = Math.sin(Math.toRadians(rotation));
+        r.text(x * cos - y * sin, x * sin + y * cos, String.format("%.1f°", (360 - rotation) % 360), "astrolabe-label");
+    }
+
+    private static double[] rotate(double[] points, double cos, double sin) {
+        for (int i = 0; i < points.length; i += 2) {
+            double x = points[i];
+            double y = points[i + 1];
+            points[i] = x * cos - y * sin;
+            points[i + 1] = x * sin + y * cos;
+        }
+        return points;
+    }
+}
@@ -1,4 +1,4 @@
-package astrolabe.simulation.code;
+package astrolabe.simulation.core;
 
 import java.time.LocalDateTime;
 
@@ -14,7 +14,8 @@ public class AstroMath {
         int year = dateTime.getYear();
         int month = dateTime.getMonthValue();
         int day = dateTime.getDayOfMonth();
-        double hour = dateTime.getHour() + dateTime.getMinute()/60.0 + dateTime.getSecond()/3600.0;
+        double hour = dateTime.getHour() + dateTime.getMinute()/60.0 + dateTime.getSecond()/3600.0
+                + dateTime.getNano()/3.6e12;
 
         if (month <= 2) {
             year -= 1;
@@ -94,6 +95,35 @@ public class AstroMath {
         return eclipticToEquatorial(lambda, beta, eps);
     }
 
+    // Saemundsson: true altitude in degrees to apparent, R in arcminutes. Smooth from the
+    // callers' -1 degree cut-off upwards.
+    public static double applyAtmosphericRefraction(double trueAltitudeDeg) {
+        double R = 1.02 / Math.tan(Math.toRadians(trueAltitudeDeg + 10.3 / (trueAltitudeDeg + 5.11)));
+        return trueAltitudeDeg + (R / 60);
+    }
+
+    public static double[] precessCoordinates(double raHours, double decDeg, double t) {
+        double ra = Math.toRadians(raHours * 15);
+        double dec = Math.toRadians(decDeg);
+
+        double zeta = Math.toRadians((2306.2181 + 1.39656 * t - 0.000139 * t * t) * t / 3600);
+        double z = Math.toRadians((2306.2181 + 1.39656 * t - 0.000139 * t * t) * t / 3600);
+        double theta = Math.toRadians((2004.3109 - 0.85330 * t - 0.000217 * t * t) * t / 3600);
+
+        double A = Math.cos(dec) * Math.sin(ra + zeta);
+        double B = Math.cos(theta) * Math.cos(dec) * Math.cos(ra + zeta) - Math.sin(theta) * Math.sin(dec);
+        double C = Math.sin(theta) * Math.cos(dec) * Math.cos(ra + zeta) + Math.cos(theta) * Math.sin(dec);
+
+        double newRa = Math.atan2(A, B) + z;
+        double newDec = Math.asin(C);
+
+        newRa = (Math.toDegrees(newRa) / 15) % 24;
+        if (newRa < 0) newRa += 24;
+        newDec = Math.toDegrees(newDec);
+
+        return new double[]{newRa, newDec};
+    }
+
     public static double[] equatorialToEcliptic(double ra, double dec, double eps) {
         double raRad = Math.toRadians(ra);
         double decRad = Math.toRadians(dec);
@@ -0,0 +1,118 @@
+package astrolabe.simulation.core;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+public class AtlasExporter {
+    // Headless batch job: both mater faces once, then a tympanum and a rete plate per
+    // latitude, generated in parallel and each streamed to its own SVG or PDF file
+    private final Path outputDir;
+    private final String format;
+    private final StarCatalog catalog;
+    private final double longitude;
+    private final LocalDateTime dateTime;
+    private final double limitingMagnitude;
+
+    public AtlasExporter(Path outputDir, String format, StarCatalog catalog, double longitude, LocalDateTime dateTime,
+                         double limitingMagnitude) {
+        this.outputDir = outputDir;
+        this.format = format;
+        this.catalog = catalog;
+        this.longitude = longitude;
+        this.dateTime = dateTime;
+        this.limitingMagnitude = limitingMagnitude;
+    }
+
+    // Usage: AtlasExporter --out=atlas [--format=svg|pdf] [--from=0] [--to=66] [--step=0.5]
+    //        [--longitude=0] [--time=2025-06-21T22:00] [--catalog=stars.csv] [--magnitude=6]
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = PlateExporter.parseOptions(args);
+        StarCatalog catalog = options.containsKey("catalog")
+                ? StarCatalog.load(Path.of(options.get("catalog")))
+                : StarCatalog.brightStars();
+        LocalDateTime dateTime = options.containsKey("time")
+                ? LocalDateTime.parse(options.get("time"))
+                : LocalDateTime.now();
+
+        AtlasExporter exporter = new AtlasExporter(
+                Path.of(options.getOrDefault("out", "atlas")),
+                options.getOrDefault("format", "svg"),
+                catalog,
+                Double.parseDouble(options.getOrDefault("longitude", "0")),
+                dateTime,
+                Double.parseDouble(options.getOrDefault("magnitude", "6")));
+
+        long start = System.nanoTime();
+        List<Path> written = exporter.export(
+                Double.parseDouble(options.getOrDefault("from", "0")),
+                Double.parseDouble(options.getOrDefault("to", "66")),
+                Double.parseDouble(options.getOrDefault("step", "0.5")));
+        System.out.printf("Wrote %d files to %s in %d ms%n",
+                written.size(), exporter.outputDir, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public List<Path> export(double fromLatitude, double toLatitude, double step)
+            throws IOException, InterruptedException {
+        Files.createDirectories(outputDir);
+        List<Path> written = new ArrayList<>();
+
+        MaterFace mater = new MaterFace(PlateExporter.MATER_RADIUS);
+        written.add(writePlate("mater-front", mater::drawFront));
+        written.add(writePlate("mater-back", mater::drawBack));
+
+        int plates = (int) Math.floor((toLatitude - fromLatitude) / step + 1e-9) + 1;
+        ExecutorService pool = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        try {
+            List<Future<List<Path>>> futures = new ArrayList<>();
+            for (int i = 0; i < plates; i++) {
+                double latitude = fromLatitude + i * step;
+                futures.add(pool.submit(() -> exportLatitude(latitude)));
+            }
+            for (Future<List<Path>> future : futures) {
+                written.addAll(future.get());
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+            throw new IOException("Plate generation failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        return written;
+    }
+
+    private List<Path> exportLatitude(double latitude) {
+        String suffix = String.format(Locale.ROOT, "%s%05.2f", latitude < 0 ? "S" : "N", Math.abs(latitude));
+        Tympanum tympanum = new Tympanum(latitude, PlateExporter.PLATE_RADIUS, PlateExporter.PLATE_RADIUS);
+        ReteFace rete = new ReteFace(PlateExporter.PLATE_RADIUS);
+
+        List<Path> written = new ArrayList<>();
+        written.add(writePlate("tympanum-" + suffix, tympanum::draw));
+        written.add(writePlate("rete-" + suffix,
+                r -> rete.draw(r, catalog, latitude, longitude, dateTime, limitingMagnitude)));
+        return written;
+    }
+
+    private Path writePlate(String name, Consumer<PlateRenderer> painter) {
+        Path path = outputDir.resolve(name + "." + format);
+        try {
+            PlateExporter.write(path, PlateExporter.PAGE_SIZE, painter);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return path;
+    }
+}
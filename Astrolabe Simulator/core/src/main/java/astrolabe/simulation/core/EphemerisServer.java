@@ -0,0 +1,316 @@
+package astrolabe.simulation.core;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public class EphemerisServer {
+    // Local HTTP service over the core astronomy. Every request runs on its own virtual
+    // thread, so slow clients park cheaply instead of holding pool threads. Responses
+    // are JSON lines (one object per line), written as they are computed.
+    //
+    //   GET /sky?lat=51.5&lon=-0.1&time=2025-06-21T22:00[&magnitude=6][&visible=true]
+    //   GET /bodies?lat=51.5&lon=-0.1&time=2025-06-21T22:00
+    //   GET /batch?lat=51.5&lon=-0.1&from=2025-06-21T00:00&to=2025-06-22T00:00[&step=PT1H][&bodies=Sun,Moon]
+    //   GET /stats
+    //   GET /plate?face=front&lat=51.5&lon=-0.1&time=2025-06-21T22:00 (served by PlateImageService from main)
+    //
+    // Sky states come from a quantized cache: observers are snapped to the angle quantum
+    // and instants floored to the time quantum before computing. Batches are computed
+    // exactly at each step and bypass the cache, so one long batch cannot evict the
+    // states that interactive clients share.
+    private static final Logger LOG = Logger.getLogger(EphemerisServer.class.getName());
+    private static final int BACKLOG = 4096;
+    private static final long MAX_BATCH_STEPS = 10_000;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final StarCatalog catalog;
+    private final SkyStateCache cache;
+
+    public EphemerisServer(InetSocketAddress address, StarCatalog catalog) throws IOException {
+        this(address, new SkyStateCache(catalog, 0.01, Duration.ofMinutes(1), 4096));
+    }
+
+    public EphemerisServer(InetSocketAddress address, SkyStateCache cache) throws IOException {
+        this.catalog = cache.getCatalog();
+        this.cache = cache;
+        this.server = HttpServer.create(address, BACKLOG);
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+        server.createContext("/sky", handler(this::sky));
+        server.createContext("/bodies", handler(this::bodies));
+        server.createContext("/batch", handler(this::batch));
+        server.createContext("/stats", handler(this::stats));
+    }
+
+    // Usage: EphemerisServer [--port=8080] [--catalog=stars.csv] [--angle-quantum=0.01]
+    //        [--time-quantum=PT1M] [--cache-size=4096]
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = PlateExporter.parseOptions(args);
+        StarCatalog catalog = options.containsKey("catalog")
+                ? StarCatalog.load(Path.of(options.get("catalog")))
+                : StarCatalog.brightStars();
+        int port = Integer.parseInt(options.getOrDefault("port", "8080"));
+        SkyStateCache cache = new SkyStateCache(catalog,
+                Double.parseDouble(options.getOrDefault("angle-quantum", "0.01")),
+                Duration.parse(options.getOrDefault("time-quantum", "PT1M")),
+                Integer.parseInt(options.getOrDefault("cache-size", "4096")));
+
+        EphemerisServer server = new EphemerisServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), cache);
+        new PlateImageService(catalog, 256).register(server.getHttpServer());
+        server.start();
+        System.out.println("Ephemeris service on http://localhost:" + server.getPort() + "/");
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdown();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    // Gives a context to add further endpoints, e.g. the plate image service
+    public HttpServer getHttpServer() {
+        return server;
+    }
+
+    public StarCatalog getCatalog() {
+        return catalog;
+    }
+
+    public SkyStateCache getCache() {
+        return cache;
+    }
+
+    private void sky(Map<String, String> query, Writer out) throws IOException {
+        double latitude = coordinate(query, "lat", 90);
+        double longitude = coordinate(query, "lon", 180);
+        LocalDateTime dateTime = time(query, "time");
+        double magnitude = number(query, "magnitude", 6);
+        boolean visibleOnly = Boolean.parseBoolean(query.getOrDefault("visible", "false"));
+
+        SkyState state = cache.getForMagnitude(latitude, longitude, dateTime, magnitude);
+        for (int i = 0; i < state.getStarCount(); i++) {
+            // Stars that never rise here have no position
+            if (catalog.getMagnitude(i) > magnitude || Double.isNaN(state.getStarAltitude(i))
+                    || (visibleOnly && !state.isStarVisible(i))) continue;
+            out.write(String.format(Locale.ROOT,
+                    "{\"type\":\"star\",\"name\":%s,\"mag\":%.2f,\"alt\":%.4f,\"az\":%.4f,\"visible\":%b}\n",
+                    quote(catalog.getName(i)), catalog.getMagnitude(i), state.getStarAltitude(i),
+                    state.getStarAzimuth(i), state.isStarVisible(i)));
+        }
+        writeBodies(state, null, visibleOnly, false, out);
+    }
+
+    private void bodies(Map<String, String> query, Writer out) throws IOException {
+        SkyState state = cache.get(coordinate(query, "lat", 90), coordinate(query, "lon", 180), time(query, "time"),
+                0); // No star tiers
+        writeBodies(state, null, false, false, out);
+    }
+
+    private void batch(Map<String, String> query, Writer out) throws IOException {
+        double latitude = coordinate(query, "lat", 90);
+        double longitude = coordinate(query, "lon", 180);
+        LocalDateTime from = time(query, "from");
+        LocalDateTime to = time(query, "to");
+        Duration step = Duration.parse(query.getOrDefault("step", "PT1H"));
+        Set<String> bodies = query.containsKey("bodies")
+                ? new HashSet<>(Arrays.asList(query.get("bodies").split(",")))
+                : null;
+
+        if (step.isZero() || step.isNegative()) {
+            throw new IllegalArgumentException("step must be positive");
+        }
+        if (Duration.between(from, to).dividedBy(step) > MAX_BATCH_STEPS) {
+            throw new IllegalArgumentException("more than " + MAX_BATCH_STEPS + " steps");
+        }
+
+        for (LocalDateTime t = from; !t.isAfter(to); t = t.plus(step)) {
+            SkyState state = SkyState.computeTiers(catalog, latitude, longitude, t, 0); // Bodies only
+            writeBodies(state, bodies, false, true, out);
+        }
+    }
+
+    private void stats(Map<String, String> query, Writer out) throws IOException {
+        out.write(String.format(Locale.ROOT,
+                "{\"hits\":%d,\"misses\":%d,\"evictions\":%d,\"size\":%d,\"hitRate\":%.4f}\n",
+                cache.getHits(), cache.getMisses(), cache.getEvictions(), cache.size(), cache.getHitRate()));
+    }
+
+    private void writeBodies(SkyState state, Set<String> names, boolean visibleOnly, boolean withTime, Writer out)
+            throws IOException {
+        for (int b = 0; b < state.getBodyCount(); b++) {
+            String name = SkyState.BODIES[b];
+            if ((names != null && !names.contains(name)) || (visibleOnly && !state.isBodyVisible(b))) continue;
+            out.write(String.format(Locale.ROOT,
+                    "{%s\"type\":\"body\",\"name\":%s,\"ra\":%.4f,\"dec\":%.4f,\"alt\":%.4f,\"az\":%.4f,\"visible\":%b}\n",
+                    withTime ? "\"time\":\"" + state.getDateTime() + "\"," : "", quote(name),
+                    state.getBodyRa(b), state.getBodyDec(b), state.getBodyAltitude(b), state.getBodyAzimuth(b),
+                    state.isBodyVisible(b)));
+        }
+    }
+
+    private interface Endpoint {
+        void handle(Map<String, String> query, Writer out) throws IOException;
+    }
+
+    // Bad parameters are rejected before the 200 header goes out; after that the body
+    // is streamed in chunks. Any other failure is logged and answered with a 500 if the
+    // header is still unsent, otherwise the exchange is closed mid-body.
+    private HttpHandler handler(Endpoint endpoint) {
+        return exchange -> {
+            try (exchange) {
+                if (!"GET".equals(exchange.getRequestMethod())) {
+                    sendError(exchange, 405, "GET only");
+                    return;
+                }
+                Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+                BufferedWriter out = new BufferedWriter(new OutputStreamWriter(new HeaderOnFirstWrite(exchange),
+                        StandardCharsets.UTF_8));
+                try {
+                    endpoint.handle(query, out);
+                } catch (IllegalArgumentException | DateTimeParseException e) {
+                    if (exchange.getResponseCode() == -1) {
+                        sendError(exchange, 400, e.getMessage());
+                        return;
+                    }
+                    throw e;
+                } catch (RuntimeException e) {
+                    LOG.log(Level.WARNING, "Request " + exchange.getRequestURI() + " failed", e);
+                    if (exchange.getResponseCode() == -1) {
+                        sendError(exchange, 500, "internal error");
+                    }
+                    return;
+                }
+                out.flush();
+                if (exchange.getResponseCode() == -1) {
+                    exchange.sendResponseHeaders(200, -1);
+                }
+            }
+        };
+    }
+
+    static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        byte[] body = ("{\"error\":" + quote(String.valueOf(message)) + "}\n").getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        exchange.getResponseBody().write(body);
+    }
+
+    // Sends the 200 header with chunked encoding just before the first body bytes
+    private static class HeaderOnFirstWrite extends OutputStream {
+        private final HttpExchange exchange;
+        private boolean started;
+
+        HeaderOnFirstWrite(HttpExchange exchange) {
+            this.exchange = exchange;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (!started) {
+                exchange.getResponseHeaders().set("Content-Type", "application/x-ndjson");
+                exchange.sendResponseHeaders(200, 0);
+                started = true;
+            }
+            exchange.getResponseBody().write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (started) {
+                exchange.getResponseBody().flush();
+            }
+        }
+    }
+
+    static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery == null) {
+            return query;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                query.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return query;
+    }
+
+    static double number(Map<String, String> query, String name, double fallback) {
+        String value = query.get(name);
+        if (value == null) {
+            return fallback;
+        }
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("bad " + name + ": " + value);
+        }
+    }
+
+    // Latitude or longitude in degrees; a sky for a place off the globe means nothing
+    static double coordinate(Map<String, String> query, String name, int limit) {
+        double value = number(query, name, 0);
+        if (!(Math.abs(value) <= limit)) {
+            throw new IllegalArgumentException(name + " must be -" + limit + ".." + limit);
+        }
+        return value;
+    }
+
+    static LocalDateTime time(Map<String, String> query, String name) {
+        String value = query.get(name);
+        return value == null ? LocalDateTime.now() : LocalDateTime.parse(value);
+    }
+
+    static String quote(String text) {
+        StringBuilder sb = new StringBuilder("\"");
+        for (char c : text.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                sb.append('\\').append(c);
+            } else if (c < 0x20) {
+                sb.append(String.format("\\u%04x", (int) c));
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.append('"').toString();
+    }
+}
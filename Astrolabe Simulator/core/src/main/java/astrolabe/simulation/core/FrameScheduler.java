@@ -0,0 +1,110 @@
+package astrolabe.simulation.core;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class FrameScheduler {
+    // Per-frame render work in priority classes, each with its own time budget measured
+    // with System.nanoTime, inside an overall frame budget. A class runs tasks in order
+    // until its budget or the frame's is spent; whatever is left waits for the next frame.
+    // Tasks are keyed: submitting a key that is still waiting replaces its task but keeps
+    // its place, so under steady load the deferred work rotates instead of starving.
+    public enum Priority { PLANETS, GRID, FAINT_STARS, LABELS }
+
+    private final long frameBudgetNanos;
+    private final long[] budgetNanos = new long[Priority.values().length];
+    private final long[] spentNanos = new long[Priority.values().length];
+    private final List<Map<Object, Runnable>> queues = new ArrayList<>();
+    private long frames;
+    private long deferred;
+    private long overruns;
+
+    public FrameScheduler(long frameBudgetNanos) {
+        this.frameBudgetNanos = frameBudgetNanos;
+        for (int p = 0; p < budgetNanos.length; p++) {
+            queues.add(new LinkedHashMap<>());
+            budgetNanos[p] = frameBudgetNanos;
+        }
+    }
+
+    public void setBudget(Priority priority, long nanos) {
+        budgetNanos[priority.ordinal()] = nanos;
+    }
+
+    public long getBudget(Priority priority) {
+        return budgetNanos[priority.ordinal()];
+    }
+
+    public void submit(Priority priority, Object key, Runnable task) {
+        queues.get(priority.ordinal()).put(key, task);
+    }
+
+    // Drops waiting work of a class, e.g. after its content went away
+    public void cancel(Priority priority) {
+        queues.get(priority.ordinal()).clear();
+    }
+
+    // Runs one frame's worth of work in priority order; returns the nanoseconds spent.
+    // The first task of a frame always runs, so the highest class never stalls.
+    public long runFrame() {
+        long frameStart = System.nanoTime();
+        long elapsed = 0;
+        boolean first = true;
+        for (int p = 0; p < queues.size(); p++) {
+            spentNanos[p] = 0;
+            Iterator<Runnable> tasks = queues.get(p).values().iterator();
+            while (tasks.hasNext()) {
+                if (!first && (spentNanos[p] >= budgetNanos[p] || elapsed >= frameBudgetNanos)) break;
+                Runnable task = tasks.next();
+                tasks.remove();
+                long start = System.nanoTime();
+                task.run();
+                long end = System.nanoTime();
+                spentNanos[p] += end - start;
+                elapsed = end - frameStart;
+                first = false;
+            }
+        }
+
+        int left = getBacklog();
+        frames++;
+        deferred += left;
+        if (elapsed > frameBudgetNanos) overruns++;
+        return elapsed;
+    }
+
+    // Tasks waiting for a later frame
+    public int getBacklog() {
+        int backlog = 0;
+        for (Map<Object, Runnable> queue : queues) {
+            backlog += queue.size();
+        }
+        return backlog;
+    }
+
+    public int getBacklog(Priority priority) {
+        return queues.get(priority.ordinal()).size();
+    }
+
+    // Time the class took in the last frame
+    public long getSpentNanos(Priority priority) {
+        return spentNanos[priority.ordinal()];
+    }
+
+    public long getFrames() {
+        return frames;
+    }
+
+    // Sum over frames of the tasks carried over to the next one
+    public long getDeferred() {
+        return deferred;
+    }
+
+    // Frames whose work ran past the frame budget
+    public long getOverruns() {
+        return overruns;
+    }
+}
@@ -0,0 +1,133 @@
+package astrolabe.simulation.core;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.Shape;
+import java.awt.image.BufferedImage;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Arc2D;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.Line2D;
+import java.awt.geom.Path2D;
+import java.util.function.Consumer;
+
+public class Java2DPlateRenderer implements PlateRenderer {
+    // Draws onto any Graphics2D, e.g. a BufferedImage; needs no display
+    // (runs with java.awt.headless=true) and one instance per thread
+    private static final Font LABEL_FONT = new Font(Font.SERIF, Font.PLAIN, 10);
+    private static final Font SMALL_FONT = new Font(Font.SERIF, Font.PLAIN, 9);
+
+    private final Graphics2D g;
+
+    // The caller's transform maps plate units to the device; the origin is the plate centre
+    public Java2DPlateRenderer(Graphics2D g) {
+        this.g = g;
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_PURE);
+    }
+
+    // Image of the painted face at the given pixels per plate unit, the plate centre at
+    // (centreX, centreY), on the plate background
+    public static BufferedImage render(Consumer<PlateRenderer> painter, int width, int height,
+                                       double scale, double centreX, double centreY) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        g.setColor(new Color(0x2b2b2b));
+        g.fillRect(0, 0, width, height);
+        g.translate(centreX, centreY);
+        g.scale(scale, scale);
+        painter.accept(new Java2DPlateRenderer(g));
+        g.dispose();
+        return image;
+    }
+
+    // Square image of a page of pageSize plate units
+    public static BufferedImage render(Consumer<PlateRenderer> painter, int size, double pageSize) {
+        return render(painter, size, size, size / pageSize, size / 2.0, size / 2.0);
+    }
+
+    @Override
+    public void circle(double cx, double cy, double r, Pen pen) {
+        paint(new Ellipse2D.Double(cx - r, cy - r, 2 * r, 2 * r), pen);
+    }
+
+    @Override
+    public void arc(double cx, double cy, double r, double startAngle, double extent, Pen pen) {
+        // Arc2D angles run counterclockwise on screen, the plate's clockwise
+        paint(new Arc2D.Double(cx - r, cy - r, 2 * r, 2 * r, -startAngle, -extent, Arc2D.OPEN), pen);
+    }
+
+    @Override
+    public void sector(double cx, double cy, double r, double startAngle, double extent, Pen pen) {
+        paint(new Arc2D.Double(cx - r, cy - r, 2 * r, 2 * r, -startAngle, -extent, Arc2D.PIE), pen);
+    }
+
+    @Override
+    public void ellipse(double cx, double cy, double rx, double ry, Pen pen) {
+        paint(new Ellipse2D.Double(cx - rx, cy - ry, 2 * rx, 2 * ry), pen);
+    }
+
+    @Override
+    public void line(double x1, double y1, double x2, double y2, Pen pen) {
+        paint(new Line2D.Double(x1, y1, x2, y2), pen);
+    }
+
+    @Override
+    public void polygon(double[] points, Pen pen) {
+        Path2D.Double path = path(points);
+        path.closePath();
+        paint(path, pen);
+    }
+
+    @Override
+    public void polyline(double[] points, Pen pen) {
+        paint(path(points), pen);
+    }
+
+    @Override
+    public void text(double x, double y, String text, String styleClass, double rotate) {
+        // Matches the label classes of the stylesheet
+        AffineTransform saved = g.getTransform();
+        g.setFont("astrolabe-label".equals(styleClass) ? LABEL_FONT : SMALL_FONT);
+        g.setColor(new Color("star-label".equals(styleClass) ? 0xbbbbbb : 0xe0e0e0));
+        if (rotate != 0) {
+            g.rotate(Math.toRadians(rotate), x, y);
+        }
+        g.drawString(text, (float) x, (float) y);
+        g.setTransform(saved);
+    }
+
+    private static Path2D.Double path(double[] points) {
+        Path2D.Double path = new Path2D.Double();
+        path.moveTo(points[0], points[1]);
+        for (int i = 2; i < points.length; i += 2) {
+            path.lineTo(points[i], points[i + 1]);
+        }
+        return path;
+    }
+
+    private void paint(Shape shape, Pen pen) {
+        pen = pen.styled();
+        if (pen.isFilled()) {
+            g.setColor(new Color(pen.getFill()));
+            g.fill(shape);
+        }
+        if (pen.getWidth() > 0) {
+            float[] dash = null;
+            if (pen.isDashed()) {
+                double[] d = pen.getDash();
+                dash = new float[d.length];
+                for (int i = 0; i < d.length; i++) {
+                    dash[i] = (float) d[i];
+                }
+            }
+            g.setStroke(new BasicStroke((float) pen.getWidth(), BasicStroke.CAP_SQUARE, BasicStroke.JOIN_MITER, 10, dash, 0));
+            g.setColor(new Color(pen.getStroke() | ((int) Math.round(pen.getOpacity() * 255) << 24), true));
+            g.draw(shape);
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package astrolabe.simulation.core;
+
+public class MaterFace {
+    // Geometry of both mater faces, independent of any toolkit
+    private final double radius;
+
+    public MaterFace(double radius) {
+        this.radius = radius;
+    }
+
+    public void drawFront(PlateRenderer r) {
+        // Outer circle
+        r.circle(0, 0, radius, Pen.rgb(100, 100, 100).width(2).fill(40, 40, 40));
+
+        // Inner circle
+        r.circle(0, 0, radius * 0.95, Pen.rgb(120, 120, 120));
+
+        // Degree markings
+        Pen tickPen = Pen.rgb(150, 150, 150);
+        for (int deg = 0; deg < 360; deg += 5) {
+            double angleRad = Math.toRadians(deg);
+            double x1 = radius * Math.cos(angleRad);
+            double y1 = radius * Math.sin(angleRad);
+
+            double tickLength = (deg % 90 == 0) ? 15 : (deg % 30 == 0) ? 10 : 5;
+            double x2 = (radius - tickLength) * Math.cos(angleRad);
+            double y2 = (radius - tickLength) * Math.sin(angleRad);
+
+            r.line(x1, y1, x2, y2, tickPen);
+
+            if (deg % 30 == 0) {
+                r.text(x2 - 10, y2 - 10, Integer.toString(deg), "astrolabe-label");
+            }
+        }
+    }
+
+    public void drawBack(PlateRenderer r) {
+        // Base circle
+        r.circle(0, 0, radius, Pen.rgb(80, 80, 80).width(2).fill(30, 30, 30));
+
+        // Altitude scale
+        for (int deg = 0; deg <= 90; deg += 5) {
+            double rad = radius * 0.9 * (1 - deg/90.0);
+            Pen pen = deg % 10 == 0 ? Pen.rgb(150, 150, 150).dash(2, 3) : Pen.rgb(100, 100, 100).dash(1, 3);
+            r.circle(0, 0, rad, pen);
+
+            if (deg % 10 == 0 && deg > 0) {
+                r.text(rad + 5, 5, deg + "°", "astrolabe-label");
+            }
+        }
+
+        // Latitude scale
+        double latRadiusInner = radius * 0.9;
+        double latRadiusOuter = radius * 1.0;
+        for (int deg = -90; deg <= 90; deg += 10) {
+            double angleRad = Math.toRadians(deg);
+            double x1 = latRadiusInner * Math.cos(angleRad);
+            double y1 = latRadiusInner * Math.sin(angleRad);
+            double x2 = latRadiusOuter * Math.cos(angleRad);
+            double y2 = latRadiusOuter * Math.sin(angleRad);
+
+            r.line(x1, y1, x2, y2, deg % 30 == 0 ? Pen.rgb(180, 180, 180) : Pen.rgb(120, 120, 120));
+
+            if (deg % 30 == 0) {
+                r.text(x2 + 5, y2 + 5, String.format("%+d°", deg), "astrolabe-label");
+            }
+        }
+
+        // Shadow square
+        double squareSize = radius * 0.4;
+        double centerX = radius * 0.3;
+        double centerY = radius * 0.3;
+
+        Pen squarePen = Pen.rgb(180, 180, 180);
+        r.line(centerX, centerY, centerX + squareSize, centerY, squarePen);
+        r.line(centerX + squareSize, centerY, centerX + squareSize, centerY + squareSize, squarePen);
+        r.line(centerX + squareSize, centerY + squareSize, centerX, centerY + squareSize, squarePen);
+        r.line(centerX, centerY + squareSize, centerX, centerY, squarePen);
+
+        // Shadow square graduations
+        for (int i = 1; i <= 12; i++) {
+            double pos = centerX + (squareSize * i / 12);
+            r.line(pos, centerY, pos, centerY - 5, squarePen);
+            r.line(centerX - 5, centerY + (squareSize * i / 12), centerX, centerY + (squareSize * i / 12), squarePen);
+
+            if (i % 3 == 0) {
+                r.text(pos - 5, centerY - 10, Integer.toString(i), "astrolabe-label");
+                r.text(centerX - 20, centerY + (squareSize * i / 12) + 5, Integer.toString(i), "astrolabe-label");
+            }
+        }
+
+        // Shadow square labels
+        r.text(centerX + squareSize/2 - 20, centerY - 20, "Umbra Versa", "astrolabe-label");
+        r.text(centerX - 50, centerY + squareSize/2 - 5, "Umbra Recta", "astrolabe-label", -90);
+
+        // Declination scale
+        double innerRadius = radius * 0.7;
+        double outerRadius = radius * 0.85;
+
+        for (int deg = -23; deg <= 23; deg++) {
+            double angleRad = Math.toRadians(deg * 7.5);
+
+            double x1 = innerRadius * Math.cos(angleRad);
+            double y1 = innerRadius * Math.sin(angleRad);
+            double x2 = outerRadius * Math.cos(angleRad);
+            double y2 = outerRadius * Math.sin(angleRad);
+
+            r.line(x1, y1, x2, y2, deg % 5 == 0 ? Pen.rgb(180, 180, 180) : Pen.rgb(120, 120, 120));
+
+            if (deg % 5 == 0) {
+                r.text(x2 + 5 * Math.cos(angleRad), y2 + 5 * Math.sin(angleRad),
+                        String.format("%+d°", deg), "astrolabe-label");
+            }
+        }
+
+        r.text(0, outerRadius + 20, "Declination Scale", "astrolabe-label");
+
+        // Hour markings
+        double hourRadius = radius * 0.6;
+
+        for (int hour = 0; hour < 24; hour++) {
+            double angleRad = Math.toRadians(hour * 15);
+            double x = hourRadius * Math.cos(angleRad);
+            double y = hourRadius * Math.sin(angleRad);
+
+            if (hour % 3 == 0) {
+                r.text(x * 1.05, y * 1.05, Integer.toString(hour), "astrolabe-label");
+            }
+
+            r.line(x * 0.9, y * 0.9, x, y, hour % 3 == 0 ? Pen.rgb(200, 150, 100) : Pen.rgb(150, 100, 50));
+        }
+
+        r.text(0, hourRadius + 20, "Hour Scale", "astrolabe-label");
+
+        // Trigonometric scales
+        double scaleRadius = radius * 0.45;
+        double scaleWidth = radius * 0.15;
+
+        // Sine scale
+        for (int deg = 0; deg <= 90; deg += 5) {
+            double angleRad = Math.toRadians(deg);
+            double value = Math.sin(angleRad);
+            double x = scaleRadius + scaleWidth * value;
+            double y = scaleRadius - deg * (scaleRadius * 0.02);
+
+            if (deg % 15 == 0) {
+                r.text(x + 5, y, String.format("sin %d°", deg), "astrolabe-label");
+            }
+
+            r.line(scaleRadius, y, x, y, deg % 10 == 0 ? Pen.rgb(150, 200, 150) : Pen.rgb(100, 150, 100));
+        }
+
+        // Cosine scale
+        for (int deg = 0; deg <= 90; deg += 5) {
+            double angleRad = Math.toRadians(deg);
+            double value = Math.cos(angleRad);
+            double x = scaleRadius - scaleWidth * value;
+            double y = scaleRadius - deg * (scaleRadius * 0.02);
+
+            if (deg % 15 == 0) {
+                r.text(x - 30, y, String.format("cos %d°", deg), "astrolabe-label");
+            }
+
+            r.line(scaleRadius, y, x, y, deg % 10 == 0 ? Pen.rgb(150, 150, 200) : Pen.rgb(100, 100, 150));
+        }
+
+        r.text(scaleRadius, scaleRadius * 1.8, "Trigonometric Scales", "astrolabe-label");
+    }
+}
@@ -0,0 +1,79 @@
+package astrolabe.simulation.core;
+
+import java.time.LocalDateTime;
+
+public class ModelSnapshot {
+    // One consistent view of the simulation inputs: observer, instant, time rate (simulated
+    // seconds per real second, 0 while no animation plays) and the real-time flag.
+    // Immutable, so it can be handed to any thread. Every change produces a copy with the
+    // next version, so readers detect staleness by comparing versions.
+    private final long version;
+    private final double latitude;
+    private final double longitude;
+    private final LocalDateTime dateTime;
+    private final double timeRate;
+    private final boolean realTime;
+
+    private ModelSnapshot(long version, double latitude, double longitude, LocalDateTime dateTime, double timeRate,
+                          boolean realTime) {
+        this.version = version;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.dateTime = dateTime;
+        this.timeRate = timeRate;
+        this.realTime = realTime;
+    }
+
+    public static ModelSnapshot of(double latitude, double longitude, LocalDateTime dateTime) {
+        return new ModelSnapshot(0, latitude, longitude, dateTime, 0, false);
+    }
+
+    public ModelSnapshot withLatitude(double latitude) {
+        return new ModelSnapshot(version + 1, latitude, longitude, dateTime, timeRate, realTime);
+    }
+
+    public ModelSnapshot withLongitude(double longitude) {
+        return new ModelSnapshot(version + 1, latitude, longitude, dateTime, timeRate, realTime);
+    }
+
+    public ModelSnapshot withDateTime(LocalDateTime dateTime) {
+        return new ModelSnapshot(version + 1, latitude, longitude, dateTime, timeRate, realTime);
+    }
+
+    public ModelSnapshot withTimeRate(double timeRate) {
+        return new ModelSnapshot(version + 1, latitude, longitude, dateTime, timeRate, realTime);
+    }
+
+    public ModelSnapshot withRealTime(boolean realTime) {
+        return new ModelSnapshot(version + 1, latitude, longitude, dateTime, timeRate, realTime);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public double getLatitude() {
+        return latitude;
+    }
+
+    public double getLongitude() {
+        return longitude;
+    }
+
+    public LocalDateTime getDateTime() {
+        return dateTime;
+    }
+
+    public double getTimeRate() {
+        return timeRate;
+    }
+
+    public boolean isRealTime() {
+        return realTime;
+    }
+
+    // True if other describes a later state of the same model
+    public boolean isOlderThan(ModelSnapshot other) {
+        return version < other.version;
+    }
+}
@@ -0,0 +1,217 @@
+package astrolabe.simulation.core;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+public class PdfPlateRenderer implements PlateRenderer, Closeable {
+    // Single-page PDF streamed as the primitives arrive. The content stream comes first;
+    // its length, the resources and the cross-reference table are written on close.
+    private static final int CATALOG = 1, PAGES = 2, PAGE = 3, CONTENT = 4, LENGTH = 5, RESOURCES = 6, FONT = 7;
+
+    private final OutputStream out;
+    private final double size;
+    private final long[] offsets = new long[FONT + 1];
+    private final SortedSet<Integer> opacities = new TreeSet<>();
+    private long position;
+    private long streamStart;
+
+    // The page is size x size points, centred on the plate with y pointing down as on screen
+    public PdfPlateRenderer(OutputStream out, double size) {
+        this.out = out;
+        this.size = size;
+        double half = size / 2;
+        write("%PDF-1.4\n%âãÏÓ\n");
+        begin(CONTENT);
+        write("<< /Length " + LENGTH + " 0 R >>\nstream\n");
+        streamStart = position;
+        write("1 0 0 -1 " + num(half) + " " + num(half) + " cm\n");
+        write(color(0x2b2b2b) + " rg " + num(-half) + " " + num(-half) + " " + num(size) + " " + num(size) + " re f\n");
+    }
+
+    @Override
+    public void circle(double cx, double cy, double r, Pen pen) {
+        paint(pen, arcPath(cx, cy, r, r, 0, 360) + "h\n");
+    }
+
+    @Override
+    public void arc(double cx, double cy, double r, double startAngle, double extent, Pen pen) {
+        paint(pen, arcPath(cx, cy, r, r, startAngle, extent));
+    }
+
+    @Override
+    public void sector(double cx, double cy, double r, double startAngle, double extent, Pen pen) {
+        String arc = arcPath(cx, cy, r, r, startAngle, extent);
+        paint(pen, num(cx) + " " + num(cy) + " m\n" + arc.replaceFirst(" m\n", " l\n") + "h\n");
+    }
+
+    @Override
+    public void ellipse(double cx, double cy, double rx, double ry, Pen pen) {
+        paint(pen, arcPath(cx, cy, rx, ry, 0, 360) + "h\n");
+    }
+
+    @Override
+    public void line(double x1, double y1, double x2, double y2, Pen pen) {
+        paint(pen, num(x1) + " " + num(y1) + " m " + num(x2) + " " + num(y2) + " l\n");
+    }
+
+    @Override
+    public void polygon(double[] points, Pen pen) {
+        paint(pen, pointPath(points) + "h\n");
+    }
+
+    @Override
+    public void polyline(double[] points, Pen pen) {
+        paint(pen, pointPath(points) + "\n");
+    }
+
+    @Override
+    public void text(double x, double y, String text, String styleClass, double rotate) {
+        // Matches the label classes of the stylesheet; the text matrix undoes the page flip
+        double fontSize = "astrolabe-label".equals(styleClass) ? 10 : 9;
+        int fill = "star-label".equals(styleClass) ? 0xbbbbbb : 0xe0e0e0;
+        double cos = Math.cos(Math.toRadians(rotate));
+        double sin = Math.sin(Math.toRadians(rotate));
+        write("BT /F1 " + num(fontSize) + " Tf " + color(fill) + " rg " + num(cos) + " " + num(sin) + " "
+                + num(sin) + " " + num(-cos) + " " + num(x) + " " + num(y) + " Tm (" + escape(text) + ") Tj ET\n");
+    }
+
+    @Override
+    public void close() throws IOException {
+        long length = position - streamStart;
+        write("\nendstream\nendobj\n");
+
+        begin(LENGTH);
+        write(length + "\nendobj\n");
+
+        begin(RESOURCES);
+        StringBuilder states = new StringBuilder();
+        for (int alpha : opacities) {
+            states.append(" /GS").append(alpha).append(" << /CA ").append(num(alpha / 100.0)).append(" >>");
+        }
+        write("<< /Font << /F1 " + FONT + " 0 R >> /ExtGState <<" + states + " >> >>\nendobj\n");
+
+        begin(FONT);
+        write("<< /Type /Font /Subtype /Type1 /BaseFont /Times-Roman /Encoding /WinAnsiEncoding >>\nendobj\n");
+
+        begin(PAGE);
+        write("<< /Type /Page /Parent " + PAGES + " 0 R /MediaBox [0 0 " + num(size) + " " + num(size) + "] /Contents "
+                + CONTENT + " 0 R /Resources " + RESOURCES + " 0 R >>\nendobj\n");
+
+        begin(PAGES);
+        write("<< /Type /Pages /Kids [" + PAGE + " 0 R] /Count 1 >>\nendobj\n");
+
+        begin(CATALOG);
+        write("<< /Type /Catalog /Pages " + PAGES + " 0 R >>\nendobj\n");
+
+        long xref = position;
+        StringBuilder table = new StringBuilder("xref\n0 " + offsets.length + "\n0000000000 65535 f \n");
+        for (int i = 1; i < offsets.length; i++) {
+            table.append(String.format("%010d 00000 n \n", offsets[i]));
+        }
+        write(table.toString());
+        write("trailer\n<< /Size " + offsets.length + " /Root " + CATALOG + " 0 R >>\nstartxref\n" + xref + "\n%%EOF\n");
+        out.flush();
+    }
+
+    // Strokes (and fills) a path inside its own graphics state
+    private void paint(Pen pen, String path) {
+        pen = pen.styled();
+        double opacity = pen.getOpacity();
+
+        StringBuilder sb = new StringBuilder("q ");
+        sb.append(color(pen.getStroke())).append(" RG ").append(num(pen.getWidth())).append(" w ");
+        if (pen.isDashed()) {
+            sb.append('[');
+            for (double d : pen.getDash()) {
+                sb.append(num(d)).append(' ');
+            }
+            sb.append("] 0 d ");
+        }
+        if (opacity < 1) {
+            int alpha = (int) Math.round(opacity * 100);
+            opacities.add(alpha);
+            sb.append("/GS").append(alpha).append(" gs ");
+        }
+        if (pen.isFilled()) {
+            sb.append(color(pen.getFill())).append(" rg ");
+        }
+        // A zero-width pen fills only
+        String operator = pen.getWidth() == 0 ? "f" : pen.isFilled() ? "B" : "S";
+        write(sb.append('\n').append(path).append(operator).append(" Q\n").toString());
+    }
+
+    private static String pointPath(double[] points) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < points.length; i += 2) {
+            sb.append(num(points[i])).append(' ').append(num(points[i + 1])).append(i == 0 ? " m " : " l ");
+        }
+        return sb.toString();
+    }
+
+    // Elliptical arc as cubic Béziers of at most 90° each
+    private static String arcPath(double cx, double cy, double rx, double ry, double startAngle, double extent) {
+        int segments = Math.max(1, (int) Math.ceil(Math.abs(extent) / 90 - 1e-9));
+        double step = Math.toRadians(extent / segments);
+        double k = 4.0 / 3.0 * Math.tan(step / 4);
+        double a = Math.toRadians(startAngle);
+
+        StringBuilder sb = new StringBuilder();
+        sb.append(num(cx + rx * Math.cos(a))).append(' ').append(num(cy + ry * Math.sin(a))).append(" m\n");
+        for (int i = 0; i < segments; i++) {
+            double b = a + step;
+            sb.append(num(cx + rx * (Math.cos(a) - k * Math.sin(a)))).append(' ')
+              .append(num(cy + ry * (Math.sin(a) + k * Math.cos(a)))).append(' ')
+              .append(num(cx + rx * (Math.cos(b) + k * Math.sin(b)))).append(' ')
+              .append(num(cy + ry * (Math.sin(b) - k * Math.cos(b)))).append(' ')
+              .append(num(cx + rx * Math.cos(b))).append(' ')
+              .append(num(cy + ry * Math.sin(b))).append(" c\n");
+            a = b;
+        }
+        return sb.toString();
+    }
+
+    private void begin(int object) {
+        offsets[object] = position;
+        write(object + " 0 obj\n");
+    }
+
+    private void write(String s) {
+        byte[] bytes = s.getBytes(StandardCharsets.ISO_8859_1);
+        try {
+            out.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        position += bytes.length;
+    }
+
+    private static String color(int rgb) {
+        return num(((rgb >> 16) & 0xFF) / 255.0) + " " + num(((rgb >> 8) & 0xFF) / 255.0) + " " + num((rgb & 0xFF) / 255.0);
+    }
+
+    private static String num(double value) {
+        if (value == Math.rint(value) && Math.abs(value) < 1e9) {
+            return Long.toString((long) value);
+        }
+        return String.format(Locale.ROOT, "%.3f", value);
+    }
+
+    // Literal string in WinAnsi; characters outside Latin-1 become '?'
+    private static String escape(String text) {
+        StringBuilder sb = new StringBuilder();
+        for (char c : text.toCharArray()) {
+            if (c == '(' || c == ')' || c == '\\') {
+                sb.append('\\').append(c);
+            } else {
+                sb.append(c < 256 ? c : '?');
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,87 @@
+package astrolabe.simulation.core;
+
+public class Pen {
+    // Renderer-independent stroke and fill; colours are 0xRRGGBB with a separate opacity
+    private final int stroke;
+    private final double opacity;
+    private final double width;
+    private final double[] dash;
+    private final int fill;
+    private final boolean filled;
+    private final String styleClass;
+
+    private Pen(int stroke, double opacity, double width, double[] dash, int fill, boolean filled, String styleClass) {
+        this.stroke = stroke;
+        this.opacity = opacity;
+        this.width = width;
+        this.dash = dash;
+        this.fill = fill;
+        this.filled = filled;
+        this.styleClass = styleClass;
+    }
+
+    public static Pen rgb(int red, int green, int blue) {
+        return rgb(red, green, blue, 1.0);
+    }
+
+    public static Pen rgb(int red, int green, int blue, double opacity) {
+        return new Pen((red << 16) | (green << 8) | blue, opacity, 1.0, new double[0], 0, false, null);
+    }
+
+    public Pen width(double width) {
+        return new Pen(stroke, opacity, width, dash, fill, filled, styleClass);
+    }
+
+    public Pen dash(double... dash) {
+        return new Pen(stroke, opacity, width, dash.clone(), fill, filled, styleClass);
+    }
+
+    public Pen fill(int red, int green, int blue) {
+        return new Pen(stroke, opacity, width, dash, (red << 16) | (green << 8) | blue, true, styleClass);
+    }
+
+    // Stylesheet class that may override the stroke on renderers that honour styles
+    public Pen styleClass(String styleClass) {
+        return new Pen(stroke, opacity, width, dash, fill, filled, styleClass);
+    }
+
+    // The pen as the stylesheet leaves it on screen, for renderers without CSS
+    public Pen styled() {
+        if ("celestial-grid".equals(styleClass)) {
+            return new Pen(0x505050, 0.5, 0.5, dash, fill, filled, styleClass);
+        }
+        return this;
+    }
+
+    public int getStroke() {
+        return stroke;
+    }
+
+    public double getOpacity() {
+        return opacity;
+    }
+
+    public double getWidth() {
+        return width;
+    }
+
+    public double[] getDash() {
+        return dash.clone();
+    }
+
+    public boolean isDashed() {
+        return dash.length > 0;
+    }
+
+    public int getFill() {
+        return fill;
+    }
+
+    public boolean isFilled() {
+        return filled;
+    }
+
+    public String getStyleClass() {
+        return styleClass;
+    }
+}
@@ -0,0 +1,102 @@
+package astrolabe.simulation.core;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import javax.imageio.ImageIO;
+
+public class PlateExporter {
+    // Vector export of a single face. The painter streams straight into the file, so
+    // memory stays flat however many stars the rete carries.
+    public static final double MATER_RADIUS = 300;
+    public static final double PLATE_RADIUS = 280;
+    public static final double ALIDADE_LENGTH = 290;
+    public static final double PAGE_SIZE = MATER_RADIUS * 2 + 60;
+
+    // SVG, or PDF or PNG (one pixel per plate unit) by the file name's extension
+    public static void write(Path path, double size, Consumer<PlateRenderer> painter) throws IOException {
+        String name = path.getFileName().toString().toLowerCase();
+        if (name.endsWith(".png")) {
+            ImageIO.write(Java2DPlateRenderer.render(painter, (int) Math.ceil(size), size), "png", path.toFile());
+        } else if (name.endsWith(".pdf")) {
+            try (OutputStream stream = new BufferedOutputStream(Files.newOutputStream(path));
+                 PdfPlateRenderer pdf = new PdfPlateRenderer(stream, size)) {
+                painter.accept(pdf);
+            }
+        } else {
+            try (Writer writer = Files.newBufferedWriter(path);
+                 SvgPlateRenderer svg = new SvgPlateRenderer(writer, size)) {
+                painter.accept(svg);
+            }
+        }
+    }
+
+    // Usage: PlateExporter --face=front|back|tympanum|rete|alidade|astrolabe --out=face.svg|.pdf|.png
+    //        [--latitude=0] [--longitude=0] [--time=2025-06-21T22:00] [--catalog=stars.csv]
+    //        [--magnitude=6] [--alidade=0]
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        String face = options.getOrDefault("face", "astrolabe");
+        Path out = Path.of(options.getOrDefault("out", face + ".svg"));
+        write(out, PAGE_SIZE, face(options));
+        System.out.println("Wrote " + out);
+    }
+
+    // --name=value pairs
+    public static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        return options;
+    }
+
+    // Painter for the face named by --face, set up from the observer options
+    public static Consumer<PlateRenderer> face(Map<String, String> options) throws IOException {
+        String face = options.getOrDefault("face", "astrolabe");
+        double latitude = Double.parseDouble(options.getOrDefault("latitude", "0"));
+        double longitude = Double.parseDouble(options.getOrDefault("longitude", "0"));
+        double magnitude = Double.parseDouble(options.getOrDefault("magnitude", "6"));
+        double alidade = Double.parseDouble(options.getOrDefault("alidade", "0"));
+        LocalDateTime dateTime = options.containsKey("time")
+                ? LocalDateTime.parse(options.get("time"))
+                : LocalDateTime.now();
+        StarCatalog catalog = options.containsKey("catalog")
+                ? StarCatalog.load(Path.of(options.get("catalog")))
+                : StarCatalog.brightStars();
+
+        MaterFace mater = new MaterFace(MATER_RADIUS);
+        Tympanum tympanum = new Tympanum(latitude, PLATE_RADIUS, PLATE_RADIUS);
+        ReteFace rete = new ReteFace(PLATE_RADIUS);
+        AlidadeFace rule = new AlidadeFace(ALIDADE_LENGTH);
+
+        Consumer<PlateRenderer> painter;
+        switch (face) {
+            case "front": painter = mater::drawFront; break;
+            case "back": painter = mater::drawBack; break;
+            case "tympanum": painter = tympanum::draw; break;
+            case "rete": painter = r -> rete.draw(r, catalog, latitude, longitude, dateTime, magnitude); break;
+            case "alidade": painter = r -> rule.draw(r, alidade); break;
+            case "astrolabe":
+                painter = r -> {
+                    mater.drawFront(r);
+                    tympanum.draw(r);
+                    rete.draw(r, catalog, latitude, longitude, dateTime, magnitude);
+                    rule.draw(r, alidade);
+                    rule.drawReading(r, alidade);
+                };
+                break;
+            default: throw new IllegalArgumentException("Unknown face: " + face);
+        }
+        return painter;
+    }
+}
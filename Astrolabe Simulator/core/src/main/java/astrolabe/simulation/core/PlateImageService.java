@@ -0,0 +1,270 @@
+package astrolabe.simulation.core;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.imageio.ImageIO;
+
+public class PlateImageService {
+    // Rendered astrolabe faces over HTTP, drawn headless through the plate renderers.
+    //
+    //   GET /plate?face=front|back&lat=51.5&lon=-0.1&time=2025-06-21T22:00[&format=png|svg][&size=660][&magnitude=6]
+    //
+    // Inputs are quantized (0.01°, whole minutes) and hashed into the ETag, which also keys
+    // the byte cache. The hash includes the render version and a fingerprint of the catalog
+    // rows, so a restart with another catalog or drawing code never revalidates an old
+    // image. Identical requests arriving while a render is running wait for that render
+    // instead of starting their own. A failed render is logged and answered with a 500.
+    private static final Logger LOG = Logger.getLogger(PlateImageService.class.getName());
+    private static final int MAX_SIZE = 4096;
+    // Bump when the drawing of a face changes
+    private static final int RENDER_VERSION = 1;
+
+    private final StarCatalog catalog;
+    private final String fingerprint;
+    private final ExecutorService workers;
+    private final Map<String, byte[]> images;
+    private final ConcurrentHashMap<String, CompletableFuture<byte[]>> inFlight = new ConcurrentHashMap<>();
+    private long renders;
+    private long coalesced;
+    private long hits;
+
+    public PlateImageService(StarCatalog catalog, int capacity) {
+        this.catalog = catalog;
+        this.fingerprint = RENDER_VERSION + "|" + fingerprint(catalog);
+        this.workers = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), runnable -> {
+            Thread thread = new Thread(runnable, "plate-render");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.images = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, byte[]> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    public void register(HttpServer server) {
+        server.createContext("/plate", this::handle);
+    }
+
+    public void close() {
+        workers.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                EphemerisServer.sendError(exchange, 405, "GET only");
+                return;
+            }
+
+            Map<String, String> query = EphemerisServer.parseQuery(exchange.getRequestURI().getRawQuery());
+            String face = query.getOrDefault("face", "front");
+            String format = query.getOrDefault("format", "png");
+            double latitude;
+            double longitude;
+            double magnitude;
+            int size;
+            LocalDateTime dateTime;
+            try {
+                if (!face.equals("front") && !face.equals("back")) {
+                    throw new IllegalArgumentException("face must be front or back");
+                }
+                if (!format.equals("png") && !format.equals("svg")) {
+                    throw new IllegalArgumentException("format must be png or svg");
+                }
+                latitude = Math.round(EphemerisServer.coordinate(query, "lat", 90) * 100) / 100.0;
+                longitude = Math.round(EphemerisServer.coordinate(query, "lon", 180) * 100) / 100.0;
+                magnitude = EphemerisServer.number(query, "magnitude", 6);
+                size = (int) EphemerisServer.number(query, "size", PlateExporter.PAGE_SIZE);
+                dateTime = EphemerisServer.time(query, "time").truncatedTo(ChronoUnit.MINUTES);
+                if (size < 16 || size > MAX_SIZE) {
+                    throw new IllegalArgumentException("size must be 16.." + MAX_SIZE);
+                }
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                EphemerisServer.sendError(exchange, 400, e.getMessage());
+                return;
+            }
+
+            // The back does not depend on the observer
+            String key = face.equals("back")
+                    ? String.format(Locale.ROOT, "%d|back|%s|%d", RENDER_VERSION, format, size)
+                    : String.format(Locale.ROOT, "%s|front|%s|%d|%.2f|%.2f|%s|%.2f", fingerprint, format, size,
+                            latitude, longitude, dateTime, magnitude);
+            String etag = "\"" + hash(key) + "\"";
+
+            exchange.getResponseHeaders().set("ETag", etag);
+            exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+            String ifNoneMatch = exchange.getRequestHeaders().getFirst("If-None-Match");
+            if (ifNoneMatch != null && (ifNoneMatch.contains(etag) || ifNoneMatch.trim().equals("*"))) {
+                exchange.sendResponseHeaders(304, -1);
+                return;
+            }
+
+            Consumer<PlateRenderer> painter = painter(face, latitude, longitude, dateTime, magnitude);
+            byte[] body;
+            try {
+                body = image(etag, () -> format.equals("svg") ? svg(painter, size) : png(painter, size));
+            } catch (IOException e) {
+                LOG.log(Level.WARNING, "Render of " + exchange.getRequestURI() + " failed", e);
+                exchange.getResponseHeaders().remove("ETag");
+                EphemerisServer.sendError(exchange, 500, "internal error");
+                return;
+            }
+            exchange.getResponseHeaders().set("Content-Type", format.equals("svg") ? "image/svg+xml" : "image/png");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+        }
+    }
+
+    private interface Render {
+        byte[] render() throws IOException;
+    }
+
+    // Cached bytes, the render already running for this key, or a new render on the pool.
+    // The cache is checked inside computeIfAbsent, so a render that finishes between the
+    // lookup and the claim cannot be missed and started again.
+    private byte[] image(String etag, Render render) throws IOException {
+        byte[][] cached = new byte[1][];
+        CompletableFuture<byte[]> created = new CompletableFuture<>();
+        CompletableFuture<byte[]> running = inFlight.computeIfAbsent(etag, key -> {
+            synchronized (images) {
+                cached[0] = images.get(key);
+            }
+            return cached[0] == null ? created : null;
+        });
+        if (running == null) {
+            synchronized (images) {
+                hits++;
+            }
+            return cached[0];
+        }
+
+        if (running == created) {
+            workers.execute(() -> {
+                try {
+                    byte[] bytes = render.render();
+                    synchronized (images) {
+                        images.put(etag, bytes);
+                        renders++;
+                    }
+                    created.complete(bytes);
+                } catch (Throwable e) {
+                    created.completeExceptionally(e);
+                } finally {
+                    inFlight.remove(etag, created);
+                }
+            });
+        } else {
+            synchronized (images) {
+                coalesced++;
+            }
+        }
+
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            throw new IOException("Render failed", e.getCause());
+        }
+    }
+
+    private Consumer<PlateRenderer> painter(String face, double latitude, double longitude, LocalDateTime dateTime,
+                                            double magnitude) {
+        MaterFace mater = new MaterFace(PlateExporter.MATER_RADIUS);
+        if (face.equals("back")) {
+            return mater::drawBack;
+        }
+        return r -> {
+            mater.drawFront(r);
+            new Tympanum(latitude, PlateExporter.PLATE_RADIUS, PlateExporter.PLATE_RADIUS).draw(r);
+            new ReteFace(PlateExporter.PLATE_RADIUS).draw(r, catalog, latitude, longitude, dateTime, magnitude);
+        };
+    }
+
+    private static byte[] png(Consumer<PlateRenderer> painter, int size) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(Java2DPlateRenderer.render(painter, size, PlateExporter.PAGE_SIZE), "png", out);
+        return out.toByteArray();
+    }
+
+    private static byte[] svg(Consumer<PlateRenderer> painter, int size) throws IOException {
+        StringWriter out = new StringWriter();
+        try (SvgPlateRenderer svg = new SvgPlateRenderer(out, PlateExporter.PAGE_SIZE)) {
+            painter.accept(svg);
+        }
+        // Scale the page to the requested pixel size
+        String text = out.toString().replaceFirst("width=\"[^\"]*\" height=\"[^\"]*\"",
+                "width=\"" + size + "\" height=\"" + size + "\"");
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    // Every row in catalog order; the back face does not draw the catalog
+    private static String fingerprint(StarCatalog catalog) {
+        MessageDigest digest = sha256();
+        for (int i = 0; i < catalog.size(); i++) {
+            String row = catalog.getName(i) + "|" + catalog.getRa(i) + "|" + catalog.getDec(i) + "|"
+                    + catalog.getMagnitude(i) + "|" + catalog.getColorIndex(i) + "\n";
+            digest.update(row.getBytes(StandardCharsets.UTF_8));
+        }
+        return hex(digest.digest());
+    }
+
+    private static String hash(String key) {
+        return hex(sha256().digest(key.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String hex(byte[] digest) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 16; i++) {
+            sb.append(String.format("%02x", digest[i]));
+        }
+        return sb.toString();
+    }
+
+    public long getRenderCount() {
+        synchronized (images) {
+            return renders;
+        }
+    }
+
+    public long getCoalescedCount() {
+        synchronized (images) {
+            return coalesced;
+        }
+    }
+
+    public long getHits() {
+        synchronized (images) {
+            return hits;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package astrolabe.simulation.core;
+
+public interface PlateRenderer {
+    // Drawing surface for the astrolabe faces, centred on the plate. Angles of arcs are
+    // in degrees, clockwise on screen: angle θ is the point (cx + r cos θ, cy + r sin θ).
+    void circle(double cx, double cy, double r, Pen pen);
+
+    void arc(double cx, double cy, double r, double startAngle, double extent, Pen pen);
+
+    // Pie slice: the arc closed through the centre
+    void sector(double cx, double cy, double r, double startAngle, double extent, Pen pen);
+
+    void ellipse(double cx, double cy, double rx, double ry, Pen pen);
+
+    void line(double x1, double y1, double x2, double y2, Pen pen);
+
+    // Closed outline through {x0, y0, x1, y1, ...}
+    void polygon(double[] points, Pen pen);
+
+    // Open path through {x0, y0, x1, y1, ...}
+    void polyline(double[] points, Pen pen);
+
+    // Text anchored at its baseline start, optionally rotated (degrees, clockwise on
+    // screen) about that anchor
+    void text(double x, double y, String text, String styleClass, double rotate);
+
+    default void text(double x, double y, String text, String styleClass) {
+        text(x, y, text, styleClass, 0);
+    }
+
+    // Arc as produced by ProjectedCircle.clipArc / Tympanum: {cx, cy, r, start, extent}
+    default void arc(double[] arc, Pen pen) {
+        if (arc[4] >= 360) {
+            circle(arc[0], arc[1], arc[2], pen);
+        } else {
+            arc(arc[0], arc[1], arc[2], arc[3], arc[4], pen);
+        }
+    }
+}
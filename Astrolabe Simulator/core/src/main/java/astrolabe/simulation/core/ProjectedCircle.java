@@ -0,0 +1,84 @@
+package astrolabe.simulation.core;
+
+public class ProjectedCircle {
+    // Image of a circle on the sphere: a plane circle, or a straight line when the
+    // sphere circle passes through the projection pole (the nadir)
+    private final boolean line;
+    private final double a;
+    private final double b;
+    private final double c;
+
+    private ProjectedCircle(boolean line, double a, double b, double c) {
+        this.line = line;
+        this.a = a;
+        this.b = b;
+        this.c = c;
+    }
+
+    public static ProjectedCircle circle(double centerX, double centerY, double radius) {
+        return new ProjectedCircle(false, centerX, centerY, radius);
+    }
+
+    // Line x * normalX + y * normalY = distance, with a unit normal
+    public static ProjectedCircle line(double normalX, double normalY, double distance) {
+        return new ProjectedCircle(true, normalX, normalY, distance);
+    }
+
+    public boolean isLine() {
+        return line;
+    }
+
+    public double getCenterX() {
+        return a;
+    }
+
+    public double getCenterY() {
+        return b;
+    }
+
+    public double getRadius() {
+        return c;
+    }
+
+    public double getNormalX() {
+        return a;
+    }
+
+    public double getNormalY() {
+        return b;
+    }
+
+    public double getDistance() {
+        return c;
+    }
+
+    // Part of the circle inside a limb of the given radius around the origin, as
+    // {startAngle, extent} in degrees, where angle θ is the point
+    // (cx + r cos θ, cy + r sin θ). {0, 360} when fully inside, null when not visible.
+    public double[] clipArc(double limbRadius) {
+        double d = Math.hypot(a, b);
+        if (d + c <= limbRadius) {
+            return new double[]{0, 360};
+        }
+        if (d >= c + limbRadius || d + limbRadius <= c) {
+            return null;
+        }
+
+        // Visible points are those facing the origin, up to the intersection half-angle
+        double towardOrigin = Math.toDegrees(Math.atan2(-b, -a));
+        double cosHalf = (d * d + c * c - limbRadius * limbRadius) / (2 * d * c);
+        double half = Math.toDegrees(Math.acos(Math.max(-1, Math.min(1, cosHalf))));
+        return new double[]{towardOrigin - half, 2 * half};
+    }
+
+    // Part of the line inside the limb as {x1, y1, x2, y2}, null when not visible
+    public double[] clipSegment(double limbRadius) {
+        if (Math.abs(c) >= limbRadius) {
+            return null;
+        }
+        double half = Math.sqrt(limbRadius * limbRadius - c * c);
+        double footX = a * c;
+        double footY = b * c;
+        return new double[]{footX - b * half, footY + a * half, footX + b * half, footY - a * half};
+    }
+}
@@ -0,0 +1,73 @@
+package astrolabe.simulation.core;
+
+public class Projection {
+    // Stereographic projection for astrolabe
+    public static double[] stereographicProjection(double alt, double az, double radius) {
+        // Convert altitude to zenith distance
+        double z = 90 - alt;
+
+        // Don't project stars below horizon
+        if (z > 90) {
+            return new double[]{Double.NaN, Double.NaN};
+        }
+
+        double zRad = Math.toRadians(z);
+        double azRad = Math.toRadians(az);
+
+        // Polar coordinates
+        double r = radius * Math.tan(zRad / 2);
+        double x = r * Math.sin(azRad);
+        double y = -r * Math.cos(azRad);
+
+        return new double[]{x, y};
+    }
+
+    // Inverse stereographic projection
+    public static double[] inverseStereographicProjection(double x, double y, double radius) {
+        double r = Math.sqrt(x*x + y*y);
+        double z = 2 * Math.atan(r / radius);
+        double az = Math.atan2(x, -y);
+
+        return new double[]{
+                90 - Math.toDegrees(z),  // altitude
+                (Math.toDegrees(az) + 360) % 360  // azimuth
+        };
+    }
+
+    // Unit vector of a horizontal position in the projection frame: x and y as on the
+    // plate, z towards the zenith. stereographicProjection is radius * (x, y) / (1 + z).
+    public static double[] horizontalVector(double alt, double az) {
+        double zRad = Math.toRadians(90 - alt);
+        double azRad = Math.toRadians(az);
+        return new double[]{
+                Math.sin(zRad) * Math.sin(azRad),
+                -Math.sin(zRad) * Math.cos(azRad),
+                Math.cos(zRad)
+        };
+    }
+
+    // Projects the circle of the given angular radius around a pole (alt/az) in closed
+    // form. Stereographic projection maps circles to circles, so no sampling is needed:
+    // with pole vector p and c = cos(angularRadius), the image has centre
+    // radius * (px, py) / (pz + c) and radius radius * sin(angularRadius) / |pz + c|,
+    // degenerating to a line when the circle passes through the nadir (pz + c = 0).
+    public static ProjectedCircle projectCircle(double poleAlt, double poleAz, double angularRadius, double radius) {
+        double[] p = horizontalVector(poleAlt, poleAz);
+        double rho = Math.toRadians(angularRadius);
+        double c = Math.cos(rho);
+        double k = p[2] + c;
+
+        if (Math.abs(k) < 1e-9) {
+            double n = Math.hypot(p[0], p[1]);
+            return ProjectedCircle.line(p[0] / n, p[1] / n, radius * c / n);
+        }
+        return ProjectedCircle.circle(radius * p[0] / k, radius * p[1] / k, radius * Math.sin(rho) / Math.abs(k));
+    }
+
+    // Same, for a pole given in equatorial coordinates (hour angle and declination, degrees)
+    public static ProjectedCircle projectEquatorialCircle(double poleHa, double poleDec, double angularRadius,
+                                                          double latitude, double radius) {
+        double[] altAz = AstroMath.equatorialToHorizontal(poleHa, poleDec, latitude);
+        return projectCircle(altAz[0], altAz[1], angularRadius, radius);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,255 @@
+package astrolabe.simulation.core;
+
+import java.time.LocalDateTime;
+
+public class ReteFace {
+    // Geometry of the rete face for an observer and instant, independent of any toolkit
+    private static final Pen GRID_PEN = Pen.rgb(244, 164, 96, 0.9).width(0.7).dash(1, 2).styleClass("celestial-grid");
+    private static final Pen HORIZON_PEN = Pen.rgb(244, 164, 96, 0.9);
+    private static final Pen TROPIC_PEN = Pen.rgb(200, 120, 80).width(0.8);
+    private static final Pen ECLIPTIC_PEN = Pen.rgb(200, 50, 50).dash(5, 5);
+    private static final Pen STAR_PEN = Pen.rgb(220, 220, 220);
+    private static final Pen POINTER_PEN = Pen.rgb(200, 200, 200).width(0.5);
+    private static final Pen ZENITH_PEN = Pen.rgb(100, 100, 255).width(0).fill(100, 100, 255);
+    private static final Pen MOON_PEN = Pen.rgb(150, 150, 150).fill(200, 200, 200);
+    private static final Pen MOON_SHADOW_PEN = Pen.rgb(40, 40, 40).width(0).fill(40, 40, 40);
+    private static final String[] PLANET_NAMES = {"Mercury", "Venus", "Mars", "Jupiter", "Saturn"};
+    private static final double[] PLANET_SIZES = {0.06, 0.08, 0.07, 0.10, 0.09};
+    private static final int[][] PLANET_COLORS = {{150, 150, 150}, {255, 215, 0}, {200, 50, 50}, {200, 150, 100}, {200, 200, 100}};
+
+    private final double radius;
+
+    public ReteFace(double radius) {
+        this.radius = radius;
+    }
+
+    // Whole face: grid, tropics, ecliptic, every catalog star down to the limiting
+    // magnitude, the planets and the moon
+    public void draw(PlateRenderer r, StarCatalog catalog, double latitude, double longitude,
+                     LocalDateTime dateTime, double limitingMagnitude) {
+        double lst = AstroMath.calculateLocalSiderealTime(longitude, dateTime);
+        double t = (AstroMath.toJulianDate(dateTime) - 2451545.0) / 36525.0;
+
+        drawGrid(r, latitude);
+        drawTropics(r, latitude, t);
+        drawEcliptic(r, latitude, lst, t);
+        drawStars(r, catalog, latitude, lst, t, limitingMagnitude);
+        drawPlanets(r, latitude, lst, t, dateTime);
+        drawMoon(r, dateTime);
+        drawZenith(r);
+    }
+
+    public void drawGrid(PlateRenderer r, double latitude) {
+        // Horizon: the limb of the plate
+        drawProjected(r, Projection.projectCircle(90, 0, 90, radius), HORIZON_PEN);
+
+        // Declination parallels - 5° increments, exact circles around the celestial pole
+        for (int dec = -85; dec <= 85; dec += 5) {
+            drawProjected(r, Projection.projectEquatorialCircle(0, 90, 90 - dec, latitude, radius), GRID_PEN);
+
+            if (dec % 30 == 0) {
+                double[] altAz = AstroMath.equatorialToHorizontal(0, dec, latitude);
+                double[] labelPos = Projection.stereographicProjection(altAz[0], altAz[1], radius);
+                if (!Double.isNaN(labelPos[0])) {
+                    r.text(labelPos[0] + 5, labelPos[1], String.format("%+d°", dec), "astrolabe-label");
+                }
+            }
+        }
+
+        // Hour circles - 1-hour (15°) increments; hour angles H and H + 180° share one great circle
+        for (int ha = 0; ha < 180; ha += 15) {
+            drawProjected(r, Projection.projectEquatorialCircle(ha + 90, 0, 90, latitude, radius), GRID_PEN);
+        }
+
+        // Hour markings around the edge (I to XII)
+        for (int hour = 0; hour < 12; hour++) {
+            double angleRad = Math.toRadians(hour * 30); // 360° / 12 = 30° per hour
+            double x = radius * Math.cos(angleRad);
+            double y = radius * Math.sin(angleRad);
+            r.text(x - 10, y - 10, romanNumeral(hour + 1), "astrolabe-label");
+        }
+    }
+
+    // Tropics of Cancer and Capricorn: parallels at ±ε
+    public void drawTropics(PlateRenderer r, double latitude, double t) {
+        double eps = AstroMath.calculateObliquity(t);
+        for (double dec : new double[]{eps, -eps}) {
+            drawProjected(r, Projection.projectEquatorialCircle(0, 90, 90 - dec, latitude, radius), TROPIC_PEN);
+        }
+    }
+
+    // Ecliptic: the great circle around the ecliptic pole (RA 18h, dec 90° - ε)
+    public void drawEcliptic(PlateRenderer r, double latitude, double lst, double t) {
+        double eps = AstroMath.calculateObliquity(t);
+        drawProjected(r, Projection.projectEquatorialCircle(lst - 270, 90 - eps, 90, latitude, radius), ECLIPTIC_PEN);
+    }
+
+    // Stars as on the node backend: top tier with pointer and label, the rest as circles
+    public void drawStars(PlateRenderer r, StarCatalog catalog, double latitude, double lst, double t,
+                          double limitingMagnitude) {
+        int[][] bands = catalog.visibleBands(latitude, StarCatalog.bandMargin(t));
+        int tiers = catalog.tiersBrighterThan(limitingMagnitude);
+        for (int k = 0; k < tiers; k++) {
+            int[] band = bands[k];
+            for (int i = band[0]; i < band[1]; i++) {
+                double magnitude = catalog.getMagnitude(i);
+                if (magnitude > limitingMagnitude) continue;
+
+                double[] xy = projectStar(catalog, i, latitude, lst, t);
+                if (Double.isNaN(xy[0])) continue;
+
+                drawStar(r, catalog.getName(i), xy[0], xy[1], magnitude, k == 0);
+            }
+        }
+    }
+
+    // Star circle sized by magnitude; labelled stars also get a pointer and their name
+    public void drawStar(PlateRenderer r, String name, double x, double y, double magnitude, boolean labelled) {
+        r.circle(x, y, starSize(magnitude), STAR_PEN);
+        if (labelled) {
+            drawStarPointer(r, x, y);
+            drawStarLabel(r, name, x, y, magnitude);
+        }
+    }
+
+    public void drawStarPointer(PlateRenderer r, double x, double y) {
+        r.line(0, 0, x, y, POINTER_PEN); // Simplified star pointer
+    }
+
+    public void drawStarLabel(PlateRenderer r, String name, double x, double y, double magnitude) {
+        r.text(x + starSize(magnitude) + 2, y, name, "star-label");
+    }
+
+    public static double starSize(double magnitude) {
+        return Math.max(2, Math.min(8 - magnitude * 2, 10));
+    }
+
+    public void drawPlanets(PlateRenderer r, double latitude, double lst, double t, LocalDateTime dateTime) {
+        double eps = AstroMath.calculateObliquity(t);
+        for (int i = 0; i < PLANET_NAMES.length; i++) {
+            double[] planetPos = AstroMath.calculatePlanetPosition(PLANET_NAMES[i], dateTime);
+            if (planetPos == null || Double.isNaN(planetPos[0])) continue;
+
+            double[] equatorial = AstroMath.eclipticToEquatorial(planetPos[0], planetPos[1], eps);
+            double[] altAz = AstroMath.equatorialToHorizontal(lst - equatorial[0], equatorial[1], latitude);
+            if (altAz[0] > -1) {
+                altAz[0] = AstroMath.applyAtmosphericRefraction(altAz[0]);
+            }
+
+            double[] xy = Projection.stereographicProjection(altAz[0], altAz[1], radius);
+            if (!Double.isNaN(xy[0])) {
+                drawPlanet(r, i, xy[0], xy[1]);
+            }
+        }
+    }
+
+    // Planets at the positions of a computed sky state (bodies 2..6)
+    public void drawPlanets(PlateRenderer r, SkyState state) {
+        for (int i = 0; i < PLANET_NAMES.length; i++) {
+            if (state.isBodyVisible(i + 2)) {
+                drawPlanet(r, i, state.getBodyX(i + 2) * radius, state.getBodyY(i + 2) * radius);
+            }
+        }
+    }
+
+    private void drawPlanet(PlateRenderer r, int i, double x, double y) {
+        int[] color = PLANET_COLORS[i];
+        Pen pen = Pen.rgb(0, 0, 0).width(0.5).fill(color[0], color[1], color[2]);
+        drawPlanetSymbol(r, PLANET_NAMES[i], x, y, pen);
+        r.text(x + radius * PLANET_SIZES[i] + 2, y, PLANET_NAMES[i], "planet-label");
+    }
+
+    private void drawPlanetSymbol(PlateRenderer r, String name, double x, double y, Pen pen) {
+        switch (name) {
+            case "Mercury":
+                r.circle(x, y, 5, pen);
+                r.line(x, y - 8, x, y + 8, pen);
+                r.arc(x, y, 5, 0, -180, pen);
+                break;
+            case "Venus":
+                r.circle(x, y, 6, pen);
+                r.line(x - 6, y, x + 6, y, pen);
+                break;
+            case "Mars":
+                r.circle(x, y, 6, pen);
+                r.line(x, y - 8, x, y + 8, pen.dash(2, 2));
+                break;
+            case "Jupiter":
+                r.ellipse(x, y, 8, 5, pen);
+                r.line(x, y - 8, x, y + 8, pen);
+                break;
+            case "Saturn":
+                r.ellipse(x, y, 8, 5, pen);
+                r.line(x, y - 8, x, y + 8, pen);
+                // Ring: upper half of a 10 x 3 ellipse
+                double[] ring = new double[2 * 19];
+                for (int i = 0; i <= 18; i++) {
+                    double a = Math.toRadians(180 + i * 10);
+                    ring[2 * i] = x + 10 * Math.cos(a);
+                    ring[2 * i + 1] = y + 3 * Math.sin(a);
+                }
+                r.polyline(ring, pen.width(1.5));
+                break;
+        }
+    }
+
+    // Moon disk with its unlit part shaded, beside the plate centre
+    public void drawMoon(PlateRenderer r, LocalDateTime dateTime) {
+        double phase = AstroMath.calculateMoonPhase(dateTime);
+        double moonX = radius * 0.6;
+        double moonY = radius * 0.1;
+        double moonSize = radius * 0.07;
+
+        r.circle(moonX, moonY, moonSize, MOON_PEN);
+        double extent = 180 * Math.abs(phase - 0.5) * 2;
+        r.sector(moonX, moonY, moonSize, phase < 0.5 ? 90 : -90, -extent, MOON_SHADOW_PEN);
+        r.text(moonX - moonSize, moonY + moonSize + 15, AstroMath.getPhaseName(phase), "astrolabe-label");
+    }
+
+    public void drawZenith(PlateRenderer r) {
+        r.circle(0, 0, 3, ZENITH_PEN);
+    }
+
+    // Plate position of a catalog star with precession and refraction; NaN below the horizon
+    public double[] projectStar(StarCatalog catalog, int i, double latitude, double lst, double t) {
+        double[] precessed = AstroMath.precessCoordinates(catalog.getRa(i), catalog.getDec(i), t);
+        double[] altAz = AstroMath.equatorialToHorizontal(lst - precessed[0] * 15, precessed[1], latitude);
+        if (altAz[0] > -1) {
+            altAz[0] = AstroMath.applyAtmosphericRefraction(altAz[0]);
+        }
+        return Projection.stereographicProjection(altAz[0], altAz[1], radius);
+    }
+
+    // Exact curve for a projected circle, clipped to the horizon
+    private void drawProjected(PlateRenderer r, ProjectedCircle projected, Pen pen) {
+        if (projected.isLine()) {
+            double[] segment = projected.clipSegment(radius);
+            if (segment != null) {
+                r.line(segment[0], segment[1], segment[2], segment[3], pen);
+            }
+        } else {
+            double[] arc = projected.clipArc(radius);
+            if (arc != null) {
+                r.arc(new double[]{projected.getCenterX(), projected.getCenterY(), projected.getRadius(), arc[0], arc[1]}, pen);
+            }
+        }
+    }
+
+    private String romanNumeral(int number) {
+        switch (number) {
+            case 1: return "I";
+            case 2: return "II";
+            case 3: return "III";
+            case 4: return "IV";
+            case 5: return "V";
+            case 6: return "VI";
+            case 7: return "VII";
+            case 8: return "VIII";
+            case 9: return "IX";
+            case 10: return "X";
+            case 11: return "XI";
+            case 12: return "XII";
+            default: return "";
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package astrolabe.simulation.core;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+public class SimulationClock {
+    // Fixed-step simulated time driven by frame timestamps. Real time accumulates and is
+    // consumed in whole steps of stepNanos, each advancing the simulated instant by
+    // rate * step, so simulated time does not depend on frame timing. After a stall only
+    // maxStepsPerFrame steps are caught up and the rest is dropped. Between steps the
+    // render time is interpolated by the leftover fraction of a step.
+    private final long stepNanos;
+    private final int maxStepsPerFrame;
+    private double rate = 1;
+    private boolean running = false;
+    private long lastFrameNanos = -1;
+    private long accumulatorNanos;
+    private long droppedSteps;
+    private LocalDateTime previous;
+    private LocalDateTime current;
+
+    public SimulationClock(LocalDateTime start, Duration step, int maxStepsPerFrame) {
+        this.stepNanos = step.toNanos();
+        this.maxStepsPerFrame = maxStepsPerFrame;
+        this.previous = start;
+        this.current = start;
+    }
+
+    // Simulated seconds per real second
+    public void setRate(double rate) {
+        this.rate = rate;
+    }
+
+    public double getRate() {
+        return rate;
+    }
+
+    public void start() {
+        running = true;
+        lastFrameNanos = -1;
+    }
+
+    public void pause() {
+        running = false;
+        accumulatorNanos = 0;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Jumps to an instant, e.g. after the user picked a date
+    public void setTime(LocalDateTime time) {
+        previous = time;
+        current = time;
+        accumulatorNanos = 0;
+    }
+
+    // Called once per frame; returns the number of simulation steps taken
+    public int advance(long frameNanos) {
+        if (!running) return 0;
+        if (lastFrameNanos < 0) {
+            lastFrameNanos = frameNanos;
+            return 0;
+        }
+        accumulatorNanos += frameNanos - lastFrameNanos;
+        lastFrameNanos = frameNanos;
+
+        long steps = accumulatorNanos / stepNanos;
+        if (steps > maxStepsPerFrame) {
+            droppedSteps += steps - maxStepsPerFrame;
+            accumulatorNanos -= (steps - maxStepsPerFrame) * stepNanos;
+            steps = maxStepsPerFrame;
+        }
+
+        Duration simulatedStep = Duration.ofNanos(Math.round(rate * stepNanos));
+        for (int i = 0; i < steps; i++) {
+            previous = current;
+            current = current.plus(simulatedStep);
+        }
+        accumulatorNanos -= steps * stepNanos;
+        return (int) steps;
+    }
+
+    // Fraction of a step since the last one, in [0, 1)
+    public double getAlpha() {
+        return (double) accumulatorNanos / stepNanos;
+    }
+
+    public LocalDateTime getPreviousTime() {
+        return previous;
+    }
+
+    public LocalDateTime getCurrentTime() {
+        return current;
+    }
+
+    // Between the last two steps, so it never runs ahead of a computed step
+    public LocalDateTime getRenderTime() {
+        long span = Duration.between(previous, current).toNanos();
+        return previous.plusNanos(Math.round(span * getAlpha()));
+    }
+
+    public long getDroppedSteps() {
+        return droppedSteps;
+    }
+}
@@ -0,0 +1,90 @@
+package astrolabe.simulation.core;
+
+import java.time.LocalDateTime;
+
+public class SkyEpoch {
+    // The observer-independent part of a sky state: precessed star coordinates and the
+    // equatorial positions of the bodies for one instant. Every observer at that instant
+    // shares it, so moving the observer never recomputes ephemerides.
+    private final StarCatalog catalog;
+    private final LocalDateTime dateTime;
+    private final double t;
+    private final int starCount;
+    private final double[] starRa;
+    private final double[] starDec;
+    private final double[] bodyRa;
+    private final double[] bodyDec;
+
+    private SkyEpoch(StarCatalog catalog, LocalDateTime dateTime, int starCount) {
+        this.catalog = catalog;
+        this.dateTime = dateTime;
+        this.t = (AstroMath.toJulianDate(dateTime) - 2451545.0) / 36525.0;
+        this.starCount = starCount;
+        this.starRa = new double[starCount];
+        this.starDec = new double[starCount];
+        this.bodyRa = new double[SkyState.BODIES.length];
+        this.bodyDec = new double[SkyState.BODIES.length];
+    }
+
+    // Catalog rows [0, starCount) and all bodies
+    public static SkyEpoch compute(StarCatalog catalog, LocalDateTime dateTime, int starCount) {
+        SkyEpoch epoch = new SkyEpoch(catalog, dateTime, starCount);
+
+        for (int i = 0; i < starCount; i++) {
+            double[] precessed = AstroMath.precessCoordinates(catalog.getRa(i), catalog.getDec(i), epoch.t);
+            epoch.starRa[i] = precessed[0];
+            epoch.starDec[i] = precessed[1];
+        }
+
+        double eps = AstroMath.calculateObliquity(epoch.t);
+        for (int b = 0; b < SkyState.BODIES.length; b++) {
+            double[] equatorial = bodyEquatorial(b, dateTime, eps);
+            epoch.bodyRa[b] = equatorial[0];
+            epoch.bodyDec[b] = equatorial[1];
+        }
+        return epoch;
+    }
+
+    // Right ascension (degrees, not normalized) and declination of body b
+    public static double[] bodyEquatorial(int b, LocalDateTime dateTime, double eps) {
+        double[] ecliptic = b == 0 ? AstroMath.calculateSunPosition(dateTime)
+                : b == 1 ? AstroMath.calculateMoonPosition(dateTime)
+                : AstroMath.calculatePlanetPosition(SkyState.BODIES[b], dateTime);
+        return AstroMath.eclipticToEquatorial(ecliptic[0], ecliptic[1], eps);
+    }
+
+    public StarCatalog getCatalog() {
+        return catalog;
+    }
+
+    public LocalDateTime getDateTime() {
+        return dateTime;
+    }
+
+    // Julian centuries since J2000
+    public double getT() {
+        return t;
+    }
+
+    public int getStarCount() {
+        return starCount;
+    }
+
+    // Precessed right ascension in hours
+    public double getStarRa(int i) {
+        return starRa[i];
+    }
+
+    public double getStarDec(int i) {
+        return starDec[i];
+    }
+
+    // Right ascension in degrees, not normalized
+    public double getBodyRa(int b) {
+        return bodyRa[b];
+    }
+
+    public double getBodyDec(int b) {
+        return bodyDec[b];
+    }
+}
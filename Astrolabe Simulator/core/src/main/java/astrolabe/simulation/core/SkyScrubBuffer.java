@@ -0,0 +1,232 @@
+package astrolabe.simulation.core;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class SkyScrubBuffer {
+    // Sky states for a time scrubber: a ring of slots on a grid origin + k * step around
+    // the scrubber's cursor. Slot k % capacity holds step k, so memory is bounded by the
+    // capacity and a lookup is an index. Background workers fill the ring ahead of the
+    // cursor in the direction it last moved (three quarters of the slots) and behind it
+    // with the rest; steps that fall out of the window are overwritten as it moves.
+    // The capacity follows from a byte budget and the size of a state at the requested
+    // tiers, so a large catalog gets fewer slots (never under MIN_CAPACITY) instead of
+    // more memory.
+    private static final long NONE = Long.MIN_VALUE;
+    private static final int MIN_CAPACITY = 8;
+    private static final int MAX_CAPACITY = 192;
+    // Body arrays, array headers and the state object itself
+    private static final long STATE_OVERHEAD_BYTES = 512;
+
+    private final StarCatalog catalog;
+    private final long byteBudget;
+    private final int workers;
+    private final ExecutorService pool;
+    private int capacity;
+    private SkyState[] slots;
+    private long[] slotSteps;
+    private final Set<Long> inFlight = new HashSet<>();
+    private LocalDateTime origin;
+    private long stepSeconds;
+    private double latitude = Double.NaN;
+    private double longitude = Double.NaN;
+    private int tiers = -1;
+    private long generation;
+    private long cursor;
+    private int direction = 1;
+    private int running;
+    private long hits;
+    private long misses;
+    private long computed;
+
+    public SkyScrubBuffer(StarCatalog catalog, long byteBudget, int workers) {
+        this.catalog = catalog;
+        this.byteBudget = byteBudget;
+        this.workers = workers;
+        resize(0);
+        this.pool = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "scrub-prefetch");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+        clear();
+    }
+
+    public StarCatalog getCatalog() {
+        return catalog;
+    }
+
+    // Moves the grid; keeps the slots if the new grid is the old one
+    public synchronized void setGrid(LocalDateTime origin, Duration step) {
+        long seconds = Math.max(1, step.getSeconds());
+        if (origin.equals(this.origin) && seconds == stepSeconds) return;
+        this.origin = origin;
+        this.stepSeconds = seconds;
+        cursor = 0;
+        direction = 1;
+        clear();
+    }
+
+    public synchronized boolean hasGrid() {
+        return origin != null;
+    }
+
+    // The state at dateTime if it is a prefetched grid step, else null. Either way the
+    // cursor moves there and the workers refill the window around it.
+    public SkyState get(double latitude, double longitude, LocalDateTime dateTime, int tiers) {
+        synchronized (this) {
+            if (origin == null) return null;
+            if (latitude != this.latitude || longitude != this.longitude || tiers != this.tiers) {
+                this.latitude = latitude;
+                this.longitude = longitude;
+                this.tiers = tiers;
+                resize(tiers);
+                clear();
+            }
+
+            long offset = dateTime.toEpochSecond(ZoneOffset.UTC) - origin.toEpochSecond(ZoneOffset.UTC);
+            long step = Math.floorDiv(offset, stepSeconds);
+            if (step != cursor) {
+                direction = step > cursor ? 1 : -1;
+                cursor = step;
+            }
+            prefetch();
+
+            int slot = slot(step);
+            if (offset % stepSeconds == 0 && slotSteps[slot] == step && slots[slot] != null) {
+                hits++;
+                return slots[slot];
+            }
+            misses++;
+            return null;
+        }
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getComputed() {
+        return computed;
+    }
+
+    public synchronized int getCapacity() {
+        return capacity;
+    }
+
+    // Four floats per star: altitude, azimuth, x, y
+    static long stateBytes(int stars) {
+        return 16L * stars + STATE_OVERHEAD_BYTES;
+    }
+
+    public synchronized int getFilled() {
+        int filled = 0;
+        for (int slot = 0; slot < capacity; slot++) {
+            if (slots[slot] != null && inWindow(slotSteps[slot])) filled++;
+        }
+        return filled;
+    }
+
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private void resize(int tiers) {
+        long fit = byteBudget / stateBytes(catalog.getTierStart(tiers));
+        int size = (int) Math.max(MIN_CAPACITY, Math.min(MAX_CAPACITY, fit));
+        if (size != capacity) {
+            capacity = size;
+            slots = new SkyState[size];
+            slotSteps = new long[size];
+        }
+    }
+
+    private void clear() {
+        generation++;
+        Arrays.fill(slots, null);
+        Arrays.fill(slotSteps, NONE);
+        inFlight.clear();
+    }
+
+    private int slot(long step) {
+        return (int) Math.floorMod(step, (long) capacity);
+    }
+
+    // Steps ahead of the cursor kept in the ring; the rest of the capacity lies behind it
+    private int ahead() {
+        return capacity * 3 / 4;
+    }
+
+    // capacity consecutive steps, so no two of them share a slot
+    private boolean inWindow(long step) {
+        long offset = (step - cursor) * direction;
+        return offset < ahead() && offset >= ahead() - capacity;
+    }
+
+    private void prefetch() {
+        while (running < workers && nextMissing(false) != NONE) {
+            running++;
+            pool.execute(this::fill);
+        }
+    }
+
+    // Nearest unfilled step ahead of the cursor, then behind it
+    private long nextMissing(boolean claim) {
+        for (int i = 0; i < capacity; i++) {
+            long offset = i < ahead() ? i : ahead() - 1 - i;
+            long step = cursor + direction * offset;
+            int slot = slot(step);
+            if ((slotSteps[slot] != step || slots[slot] == null) && !inFlight.contains(step)) {
+                if (claim) inFlight.add(step);
+                return step;
+            }
+        }
+        return NONE;
+    }
+
+    private void fill() {
+        while (true) {
+            long step;
+            long claimed;
+            LocalDateTime time;
+            double lat;
+            double lon;
+            int count;
+            synchronized (this) {
+                step = nextMissing(true);
+                if (step == NONE || tiers < 0) {
+                    if (step != NONE) inFlight.remove(step);
+                    running--;
+                    return;
+                }
+                claimed = generation;
+                time = origin.plusSeconds(step * stepSeconds);
+                lat = latitude;
+                lon = longitude;
+                count = tiers;
+            }
+
+            SkyState state = SkyState.computeTiers(catalog, lat, lon, time, count);
+            synchronized (this) {
+                if (claimed != generation) continue;
+                inFlight.remove(step);
+                computed++;
+                if (inWindow(step)) {
+                    slots[slot(step)] = state;
+                    slotSteps[slot(step)] = step;
+                }
+            }
+        }
+    }
+}
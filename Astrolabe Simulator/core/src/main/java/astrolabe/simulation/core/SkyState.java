@@ -0,0 +1,304 @@
+package astrolabe.simulation.core;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+public class SkyState {
+    // Horizontal positions of the catalog stars and the solar system bodies for one
+    // observer and instant, held in parallel primitive arrays. Plate positions are for
+    // a unit radius (multiply by the plate radius) and NaN below the horizon. Stars of the
+    // never-rising rows of each tier (see StarCatalog.visibleBands) are not transformed;
+    // all their values are NaN.
+    public static final String[] BODIES = {"Sun", "Moon", "Mercury", "Venus", "Mars", "Jupiter", "Saturn"};
+
+    private final double latitude;
+    private final double longitude;
+    private final LocalDateTime dateTime;
+    private final StarCatalog catalog;
+    private final int tiers;
+    private final int starCount;
+    private final float[] starAltitude;
+    private final float[] starAzimuth;
+    private final float[] starX;
+    private final float[] starY;
+    private final float[] bodyRa;
+    private final float[] bodyDec;
+    private final float[] bodyAltitude;
+    private final float[] bodyAzimuth;
+    private final float[] bodyX;
+    private final float[] bodyY;
+
+    SkyState(double latitude, double longitude, LocalDateTime dateTime, StarCatalog catalog, int tiers) {
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.dateTime = dateTime;
+        this.catalog = catalog;
+        this.tiers = tiers;
+        this.starCount = catalog.getTierStart(tiers);
+        this.starAltitude = new float[starCount];
+        this.starAzimuth = new float[starCount];
+        this.starX = new float[starCount];
+        this.starY = new float[starCount];
+        this.bodyRa = new float[BODIES.length];
+        this.bodyDec = new float[BODIES.length];
+        this.bodyAltitude = new float[BODIES.length];
+        this.bodyAzimuth = new float[BODIES.length];
+        this.bodyX = new float[BODIES.length];
+        this.bodyY = new float[BODIES.length];
+    }
+
+    // Stars are the catalog rows of every tier brighter than the limiting magnitude, in
+    // catalog order, so star i is catalog row i
+    public static SkyState compute(StarCatalog catalog, double latitude, double longitude, LocalDateTime dateTime,
+                                   double limitingMagnitude) {
+        return computeTiers(catalog, latitude, longitude, dateTime, catalog.tiersBrighterThan(limitingMagnitude));
+    }
+
+    // Stars of the first tiers of the catalog
+    public static SkyState computeTiers(StarCatalog catalog, double latitude, double longitude, LocalDateTime dateTime,
+                                        int tiers) {
+        return computeTiers(catalog, latitude, longitude, dateTime, tiers, bands(catalog, latitude, dateTime));
+    }
+
+    public static SkyState computeTiers(StarCatalog catalog, double latitude, double longitude, LocalDateTime dateTime,
+                                        int tiers, int[][] bands) {
+        return computeTiers(SkyEpoch.compute(catalog, dateTime, catalog.getTierStart(tiers)), latitude, longitude,
+                tiers, bands);
+    }
+
+    public static SkyState computeTiers(SkyEpoch epoch, double latitude, double longitude, int tiers) {
+        return computeTiers(epoch, latitude, longitude, tiers, bands(epoch.getCatalog(), latitude, epoch.getDateTime()));
+    }
+
+    // Only the observer-dependent part; the epoch must cover the stars of those tiers and
+    // the bands must be the catalog's visibleBands for this latitude and epoch. Within a
+    // band the circumpolar rows are always above the horizon, so they skip its checks.
+    public static SkyState computeTiers(SkyEpoch epoch, double latitude, double longitude, int tiers, int[][] bands) {
+        StarCatalog catalog = epoch.getCatalog();
+        if (catalog.getTierStart(tiers) > epoch.getStarCount()) {
+            throw new IllegalArgumentException("Epoch has " + epoch.getStarCount() + " stars, "
+                    + tiers + " tiers need " + catalog.getTierStart(tiers));
+        }
+        SkyState state = new SkyState(latitude, longitude, epoch.getDateTime(), catalog, tiers);
+
+        double lst = AstroMath.calculateLocalSiderealTime(longitude, epoch.getDateTime());
+        for (int k = 0; k < tiers; k++) {
+            int[] band = bands[k];
+            state.clearStars(catalog.getTierStart(k), band[0]);
+            for (int i = band[0]; i < band[1]; i++) {
+                double[] altAz = AstroMath.equatorialToHorizontal(lst - epoch.getStarRa(i) * 15, epoch.getStarDec(i),
+                        latitude);
+                if (i >= band[2] && i < band[3]) {
+                    state.setCircumpolarStar(i, altAz);
+                } else {
+                    state.setStar(i, altAz);
+                }
+            }
+            state.clearStars(band[1], catalog.getTierStart(k + 1));
+        }
+        for (int b = 0; b < BODIES.length; b++) {
+            double[] equatorial = {epoch.getBodyRa(b), epoch.getBodyDec(b)};
+            state.setBody(b, equatorial, AstroMath.equatorialToHorizontal(lst - equatorial[0], equatorial[1], latitude));
+        }
+        return state;
+    }
+
+    static int[][] bands(StarCatalog catalog, double latitude, LocalDateTime dateTime) {
+        double t = (AstroMath.toJulianDate(dateTime) - 2451545.0) / 36525.0;
+        return catalog.visibleBands(latitude, StarCatalog.bandMargin(t));
+    }
+
+    // Blend of two states of the same observer and tiers at fraction f of the way from a
+    // to b. Objects below the horizon in either state take b's values; states that do
+    // not match return b.
+    public static SkyState interpolate(SkyState a, SkyState b, double f) {
+        if (a.catalog != b.catalog || a.tiers != b.tiers || a.latitude != b.latitude || a.longitude != b.longitude) {
+            return b;
+        }
+        long span = Duration.between(a.dateTime, b.dateTime).toNanos();
+        SkyState state = new SkyState(b.latitude, b.longitude, a.dateTime.plusNanos(Math.round(span * f)), b.catalog, b.tiers);
+        blend(a.starX, b.starX, a.starY, b.starY, a.starAltitude, b.starAltitude, a.starAzimuth, b.starAzimuth, f,
+                state.starX, state.starY, state.starAltitude, state.starAzimuth);
+        blend(a.bodyX, b.bodyX, a.bodyY, b.bodyY, a.bodyAltitude, b.bodyAltitude, a.bodyAzimuth, b.bodyAzimuth, f,
+                state.bodyX, state.bodyY, state.bodyAltitude, state.bodyAzimuth);
+        for (int i = 0; i < BODIES.length; i++) {
+            state.bodyRa[i] = (float) ((lerpAngle(a.bodyRa[i], b.bodyRa[i], f) + 360) % 360);
+            state.bodyDec[i] = (float) (a.bodyDec[i] + (b.bodyDec[i] - a.bodyDec[i]) * f);
+        }
+        return state;
+    }
+
+    private static void blend(float[] ax, float[] bx, float[] ay, float[] by, float[] aAlt, float[] bAlt,
+                              float[] aAz, float[] bAz, double f, float[] x, float[] y, float[] alt, float[] az) {
+        for (int i = 0; i < x.length; i++) {
+            if (Float.isNaN(ax[i]) || Float.isNaN(bx[i])) {
+                x[i] = bx[i];
+                y[i] = by[i];
+                alt[i] = bAlt[i];
+                az[i] = bAz[i];
+            } else {
+                x[i] = (float) (ax[i] + (bx[i] - ax[i]) * f);
+                y[i] = (float) (ay[i] + (by[i] - ay[i]) * f);
+                alt[i] = (float) (aAlt[i] + (bAlt[i] - aAlt[i]) * f);
+                az[i] = (float) ((lerpAngle(aAz[i], bAz[i], f) + 360) % 360);
+            }
+        }
+    }
+
+    // Along the shorter way round
+    private static double lerpAngle(double a, double b, double f) {
+        double d = ((b - a) % 360 + 540) % 360 - 180;
+        return a + d * f;
+    }
+
+    // One body on its own: {ra (degrees), dec, altitude, azimuth, x, y}, x and y NaN
+    // below the horizon
+    public static double[] projectBody(int b, double latitude, double longitude, LocalDateTime dateTime) {
+        double t = (AstroMath.toJulianDate(dateTime) - 2451545.0) / 36525.0;
+        double[] equatorial = SkyEpoch.bodyEquatorial(b, dateTime, AstroMath.calculateObliquity(t));
+        double lst = AstroMath.calculateLocalSiderealTime(longitude, dateTime);
+        double[] altAz = AstroMath.equatorialToHorizontal(lst - equatorial[0], equatorial[1], latitude);
+        if (altAz[0] > -1) {
+            altAz[0] = AstroMath.applyAtmosphericRefraction(altAz[0]);
+        }
+        double[] xy = Projection.stereographicProjection(altAz[0], altAz[1], 1);
+        return new double[]{(equatorial[0] % 360 + 360) % 360, equatorial[1], altAz[0], altAz[1], xy[0], xy[1]};
+    }
+
+    // Raw writes for states assembled elsewhere in the package, e.g. sampled tracks
+    void setStarPosition(int i, double altitude, double azimuth, double x, double y) {
+        starAltitude[i] = (float) altitude;
+        starAzimuth[i] = (float) azimuth;
+        starX[i] = (float) x;
+        starY[i] = (float) y;
+    }
+
+    void setBodyPosition(int b, double ra, double dec, double altitude, double azimuth, double x, double y) {
+        bodyRa[b] = (float) ra;
+        bodyDec[b] = (float) dec;
+        bodyAltitude[b] = (float) altitude;
+        bodyAzimuth[b] = (float) azimuth;
+        bodyX[b] = (float) x;
+        bodyY[b] = (float) y;
+    }
+
+    // Rows that were not transformed
+    void clearStars(int from, int to) {
+        Arrays.fill(starAltitude, from, to, Float.NaN);
+        Arrays.fill(starAzimuth, from, to, Float.NaN);
+        Arrays.fill(starX, from, to, Float.NaN);
+        Arrays.fill(starY, from, to, Float.NaN);
+    }
+
+    // Never below the band margin, so always refracted and on the plate
+    private void setCircumpolarStar(int i, double[] altAz) {
+        double altitude = AstroMath.applyAtmosphericRefraction(altAz[0]);
+        double[] v = Projection.horizontalVector(altitude, altAz[1]);
+        starAltitude[i] = (float) altitude;
+        starAzimuth[i] = (float) altAz[1];
+        starX[i] = (float) (v[0] / (1 + v[2]));
+        starY[i] = (float) (v[1] / (1 + v[2]));
+    }
+
+    private void setStar(int i, double[] altAz) {
+        if (altAz[0] > -1) {
+            altAz[0] = AstroMath.applyAtmosphericRefraction(altAz[0]);
+        }
+        double[] xy = Projection.stereographicProjection(altAz[0], altAz[1], 1);
+        starAltitude[i] = (float) altAz[0];
+        starAzimuth[i] = (float) altAz[1];
+        starX[i] = (float) xy[0];
+        starY[i] = (float) xy[1];
+    }
+
+    private void setBody(int b, double[] equatorial, double[] altAz) {
+        if (altAz[0] > -1) {
+            altAz[0] = AstroMath.applyAtmosphericRefraction(altAz[0]);
+        }
+        double[] xy = Projection.stereographicProjection(altAz[0], altAz[1], 1);
+        bodyRa[b] = (float) ((equatorial[0] % 360 + 360) % 360);
+        bodyDec[b] = (float) equatorial[1];
+        bodyAltitude[b] = (float) altAz[0];
+        bodyAzimuth[b] = (float) altAz[1];
+        bodyX[b] = (float) xy[0];
+        bodyY[b] = (float) xy[1];
+    }
+
+    public double getLatitude() {
+        return latitude;
+    }
+
+    public double getLongitude() {
+        return longitude;
+    }
+
+    public LocalDateTime getDateTime() {
+        return dateTime;
+    }
+
+    public StarCatalog getCatalog() {
+        return catalog;
+    }
+
+    public int getTierCount() {
+        return tiers;
+    }
+
+    public int getStarCount() {
+        return starCount;
+    }
+
+    public double getStarAltitude(int i) {
+        return starAltitude[i];
+    }
+
+    public double getStarAzimuth(int i) {
+        return starAzimuth[i];
+    }
+
+    public double getStarX(int i) {
+        return starX[i];
+    }
+
+    public double getStarY(int i) {
+        return starY[i];
+    }
+
+    public boolean isStarVisible(int i) {
+        return !Float.isNaN(starX[i]);
+    }
+
+    public int getBodyCount() {
+        return BODIES.length;
+    }
+
+    // Right ascension in degrees
+    public double getBodyRa(int b) {
+        return bodyRa[b];
+    }
+
+    public double getBodyDec(int b) {
+        return bodyDec[b];
+    }
+
+    public double getBodyAltitude(int b) {
+        return bodyAltitude[b];
+    }
+
+    public double getBodyAzimuth(int b) {
+        return bodyAzimuth[b];
+    }
+
+    public double getBodyX(int b) {
+        return bodyX[b];
+    }
+
+    public double getBodyY(int b) {
+        return bodyY[b];
+    }
+
+    public boolean isBodyVisible(int b) {
+        return !Float.isNaN(bodyX[b]);
+    }
+}
@@ -0,0 +1,167 @@
+package astrolabe.simulation.core;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+public class SkyStateCache {
+    // Bounded LRU of sky states keyed by quantized latitude, longitude, instant and tier
+    // count. States are computed at the quantized values, so a hit returns exactly what a
+    // miss would have computed. Safe to share between threads.
+    //
+    // The time-only part (precession, ephemerides) is kept separately for the last few
+    // instants, so a miss that only moved the observer skips it.
+    private static final int EPOCH_CAPACITY = 2;
+
+    private final StarCatalog catalog;
+    private final double angleQuantum;
+    private final long timeQuantumSeconds;
+    private final Map<Key, SkyState> states;
+    private final Map<Long, SkyEpoch> epochs;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public SkyStateCache(StarCatalog catalog, double angleQuantum, Duration timeQuantum, int capacity) {
+        this.catalog = catalog;
+        this.angleQuantum = angleQuantum;
+        this.timeQuantumSeconds = Math.max(1, timeQuantum.getSeconds());
+        this.states = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, SkyState> eldest) {
+                if (size() > capacity) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+        this.epochs = new LinkedHashMap<>(4, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, SkyEpoch> eldest) {
+                return size() > EPOCH_CAPACITY;
+            }
+        };
+    }
+
+    public SkyState get(double latitude, double longitude, LocalDateTime dateTime, int tiers) {
+        return get(latitude, longitude, dateTime, tiers, null);
+    }
+
+    // Bands of the catalog for this latitude, if the caller has them; any latitude inside
+    // the angle quantum gives the same bands, which are widened by degrees
+    public SkyState get(double latitude, double longitude, LocalDateTime dateTime, int tiers, int[][] bands) {
+        Key key = new Key(Math.round(latitude / angleQuantum), Math.round(longitude / angleQuantum),
+                Math.floorDiv(dateTime.toEpochSecond(ZoneOffset.UTC), timeQuantumSeconds), tiers);
+        synchronized (states) {
+            SkyState state = states.get(key);
+            if (state != null) {
+                hits++;
+                return state;
+            }
+            misses++;
+        }
+
+        // Computed outside the lock; a concurrent miss on the same key just computes twice
+        SkyEpoch epoch = epoch(key.time, tiers);
+        double quantizedLatitude = key.latitude * angleQuantum;
+        if (bands == null) {
+            bands = SkyState.bands(catalog, quantizedLatitude, epoch.getDateTime());
+        }
+        SkyState state = SkyState.computeTiers(epoch, quantizedLatitude, key.longitude * angleQuantum, tiers, bands);
+        synchronized (states) {
+            states.put(key, state);
+        }
+        return state;
+    }
+
+    // Epoch for a quantized instant, recomputed if it has fewer stars than the tiers need
+    private SkyEpoch epoch(long time, int tiers) {
+        int starCount = catalog.getTierStart(tiers);
+        synchronized (states) {
+            SkyEpoch epoch = epochs.get(time);
+            if (epoch != null && epoch.getStarCount() >= starCount) {
+                return epoch;
+            }
+        }
+        SkyEpoch epoch = SkyEpoch.compute(catalog,
+                LocalDateTime.ofEpochSecond(time * timeQuantumSeconds, 0, ZoneOffset.UTC), starCount);
+        synchronized (states) {
+            SkyEpoch cached = epochs.get(time);
+            if (cached == null || cached.getStarCount() < starCount) {
+                epochs.put(time, epoch);
+            }
+        }
+        return epoch;
+    }
+
+    // Cached state with every tier brighter than the limiting magnitude
+    public SkyState getForMagnitude(double latitude, double longitude, LocalDateTime dateTime,
+                                    double limitingMagnitude) {
+        return get(latitude, longitude, dateTime, catalog.tiersBrighterThan(limitingMagnitude));
+    }
+
+    public StarCatalog getCatalog() {
+        return catalog;
+    }
+
+    public int size() {
+        synchronized (states) {
+            return states.size();
+        }
+    }
+
+    public long getHits() {
+        synchronized (states) {
+            return hits;
+        }
+    }
+
+    public long getMisses() {
+        synchronized (states) {
+            return misses;
+        }
+    }
+
+    public long getEvictions() {
+        synchronized (states) {
+            return evictions;
+        }
+    }
+
+    public double getHitRate() {
+        synchronized (states) {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0 : (double) hits / lookups;
+        }
+    }
+
+    private static class Key {
+        final long latitude;
+        final long longitude;
+        final long time;
+        final int tiers;
+
+        Key(long latitude, long longitude, long time, int tiers) {
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.time = time;
+            this.tiers = tiers;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) return false;
+            Key k = (Key) o;
+            return latitude == k.latitude && longitude == k.longitude && time == k.time && tiers == k.tiers;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(latitude, longitude, time, tiers);
+        }
+    }
+}
@@ -0,0 +1,489 @@
+package astrolabe.simulation.core;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public class SkyStreamServer {
+    // Pushes the simulation state to remote viewers over WebSocket (binary frames).
+    // A plain GET on any other path returns the canvas viewer page.
+    //
+    // Frame layout, big-endian:
+    //   byte   kind            0 = key frame, 1 = delta against the base version
+    //   int    version
+    //   int    base version    0 for key frames
+    //   long   model time      epoch seconds, UTC
+    //   float  latitude, longitude, rete rotation (degrees)
+    //   varint upserts, then per entry: varint id gap, short x, short y, byte magnitude * 10
+    //   varint removals, then per entry: varint id gap
+    //
+    // Ids are the body index (0..6) or 7 + catalog row. Positions are plate coordinates
+    // for a unit radius scaled by POSITION_SCALE. Every client has its own sender thread
+    // that only ever takes the latest frame, so a slow client skips intermediate states
+    // and its send interval backs off with the time its writes take.
+    private static final Logger LOG = Logger.getLogger(SkyStreamServer.class.getName());
+    private static final String WEBSOCKET_GUID = "258EAFA5-E914-47DA-95CA-C5AB0DC85B11";
+    private static final float POSITION_SCALE = 30000;
+    private static final long MIN_INTERVAL_NANOS = 16_000_000L;
+    private static final long MAX_INTERVAL_NANOS = 1_000_000_000L;
+    private static final int MAX_CLIENT_FRAME = 4096;
+    private static final int CLOSE_TOO_BIG = 1009;
+
+    private final ServerSocket serverSocket;
+    private final Set<Client> clients = ConcurrentHashMap.newKeySet();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition published = lock.newCondition();
+    private volatile Frame current;
+    private volatile boolean running;
+    private int nextVersion = 1;
+
+    public SkyStreamServer(InetSocketAddress address) throws IOException {
+        this.serverSocket = new ServerSocket();
+        serverSocket.bind(address);
+    }
+
+    // Usage: SkyStreamServer [--port=8765] [--latitude=51.5] [--longitude=-0.1] [--catalog=stars.csv]
+    //        [--magnitude=6] [--step=PT1S]
+    // Standalone feed that steps the sky along in real time from now
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Map<String, String> options = PlateExporter.parseOptions(args);
+        StarCatalog catalog = options.containsKey("catalog")
+                ? StarCatalog.load(Path.of(options.get("catalog")))
+                : StarCatalog.brightStars();
+        double latitude = Double.parseDouble(options.getOrDefault("latitude", "51.5"));
+        double longitude = Double.parseDouble(options.getOrDefault("longitude", "-0.1"));
+        double magnitude = Double.parseDouble(options.getOrDefault("magnitude", "6"));
+        Duration step = Duration.parse(options.getOrDefault("step", "PT1S"));
+        int port = Integer.parseInt(options.getOrDefault("port", "8765"));
+
+        SkyStreamServer server = new SkyStreamServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+        server.start();
+        System.out.println("Sky stream on http://localhost:" + server.getPort() + "/");
+        while (true) {
+            SkyState state = SkyState.compute(catalog, latitude, longitude, LocalDateTime.now(), magnitude);
+            server.publish(state, magnitude, 0);
+            Thread.sleep(step.toMillis());
+        }
+    }
+
+    public void start() {
+        running = true;
+        Thread.ofVirtual().name("sky-stream-accept").start(this::acceptLoop);
+    }
+
+    public void stop() {
+        running = false;
+        try {
+            serverSocket.close();
+        } catch (IOException ignored) {
+        }
+        for (Client client : clients) {
+            client.close();
+        }
+        lock.lock();
+        try {
+            published.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public int getClientCount() {
+        return clients.size();
+    }
+
+    // Quantizes the visible objects once; frames that change nothing are not published
+    public void publish(SkyState state, double limitingMagnitude, double reteRotation) {
+        Frame frame = Frame.of(state, limitingMagnitude, reteRotation);
+        lock.lock();
+        try {
+            if (frame.sameAs(current)) {
+                return;
+            }
+            frame.version = nextVersion++;
+            current = frame;
+            published.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void acceptLoop() {
+        while (running) {
+            try {
+                Socket socket = serverSocket.accept();
+                Thread.ofVirtual().name("sky-stream-client").start(() -> serve(socket));
+            } catch (IOException e) {
+                if (running) {
+                    LOG.log(Level.WARNING, "Sky stream accept failed", e);
+                }
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (socket) {
+            socket.setTcpNoDelay(true);
+            InputStream in = new BufferedInputStream(socket.getInputStream());
+            OutputStream out = socket.getOutputStream();
+            Map<String, String> headers = readRequest(in);
+            String key = headers.get("sec-websocket-key");
+            if (key == null) {
+                sendViewer(out, headers.get(""));
+                return;
+            }
+
+            out.write(("HTTP/1.1 101 Switching Protocols\r\nUpgrade: websocket\r\nConnection: Upgrade\r\n"
+                    + "Sec-WebSocket-Accept: " + accept(key) + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+
+            Client client = new Client(socket, out);
+            clients.add(client);
+            try {
+                Thread.ofVirtual().name("sky-stream-send").start(() -> sendLoop(client));
+                readLoop(client, new DataInputStream(in));
+            } finally {
+                clients.remove(client);
+                client.close();
+            }
+        } catch (IOException ignored) {
+            // Client went away
+        }
+    }
+
+    // Header names lower-cased; the request line is stored under ""
+    private static Map<String, String> readRequest(InputStream in) throws IOException {
+        Map<String, String> headers = new HashMap<>();
+        String line = readLine(in);
+        headers.put("", line);
+        while (!(line = readLine(in)).isEmpty()) {
+            int colon = line.indexOf(':');
+            if (colon > 0) {
+                headers.put(line.substring(0, colon).trim().toLowerCase(Locale.ROOT),
+                        line.substring(colon + 1).trim());
+            }
+        }
+        return headers;
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        int c;
+        while ((c = in.read()) != '\n') {
+            if (c == -1) {
+                throw new EOFException();
+            }
+            if (c != '\r') {
+                sb.append((char) c);
+            }
+            if (sb.length() > 8192) {
+                throw new IOException("Header line too long");
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String accept(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1")
+                    .digest((key + WEBSOCKET_GUID).getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void sendViewer(OutputStream out, String requestLine) throws IOException {
+        byte[] body;
+        try (InputStream page = SkyStreamServer.class.getResourceAsStream("/astrolabe/simulation/core/viewer.html")) {
+            body = page == null ? new byte[0] : page.readAllBytes();
+        }
+        String status = requestLine != null && requestLine.startsWith("GET ") && body.length > 0
+                ? "200 OK" : "404 Not Found";
+        out.write(("HTTP/1.1 " + status + "\r\nContent-Type: text/html; charset=utf-8\r\nContent-Length: "
+                + body.length + "\r\nConnection: close\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+        out.write(body);
+        out.flush();
+    }
+
+    // Client frames are only close and ping; anything else is read and ignored. A frame
+    // longer than MAX_CLIENT_FRAME (or a 64-bit length with the top bit set) closes the
+    // connection with 1009, message too big.
+    private void readLoop(Client client, DataInputStream in) throws IOException {
+        while (true) {
+            int first = in.readUnsignedByte();
+            int second = in.readUnsignedByte();
+            int opcode = first & 0x0F;
+            long length = second & 0x7F;
+            if (length == 126) {
+                length = in.readUnsignedShort();
+            } else if (length == 127) {
+                length = in.readLong();
+            }
+            if (length < 0 || length > MAX_CLIENT_FRAME) {
+                client.write(0x8, new byte[]{(byte) (CLOSE_TOO_BIG >>> 8), (byte) CLOSE_TOO_BIG});
+                return;
+            }
+            byte[] mask = new byte[4];
+            if ((second & 0x80) != 0) {
+                in.readFully(mask);
+            }
+            byte[] payload = new byte[(int) length];
+            in.readFully(payload);
+            for (int i = 0; i < payload.length; i++) {
+                payload[i] ^= mask[i & 3];
+            }
+
+            if (opcode == 0x8) {
+                client.write(0x8, payload);
+                return;
+            } else if (opcode == 0x9) {
+                client.write(0xA, payload);
+            }
+        }
+    }
+
+    private void sendLoop(Client client) {
+        try {
+            Frame sent = null;
+            while (running && !client.closed) {
+                Frame next = awaitNewer(sent);
+                if (next == null) {
+                    continue;
+                }
+                long start = System.nanoTime();
+                client.write(0x2, next.encode(sent));
+                sent = next;
+                long elapsed = System.nanoTime() - start;
+
+                // Back off while writes are slow, recover as the client catches up
+                client.interval = Math.max(MIN_INTERVAL_NANOS,
+                        Math.min(MAX_INTERVAL_NANOS, (client.interval * 3 + elapsed * 4) / 4));
+                TimeUnit.NANOSECONDS.sleep(client.interval);
+            }
+        } catch (IOException | InterruptedException e) {
+            client.close();
+        }
+    }
+
+    private Frame awaitNewer(Frame sent) throws InterruptedException {
+        lock.lock();
+        try {
+            while (running && (current == null || current == sent)) {
+                published.await(1, TimeUnit.SECONDS);
+            }
+            return current == sent ? null : current;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static class Client {
+        private final Socket socket;
+        private final OutputStream out;
+        private volatile boolean closed;
+        private long interval = MIN_INTERVAL_NANOS;
+
+        Client(Socket socket, OutputStream out) {
+            this.socket = socket;
+            this.out = out;
+        }
+
+        // Unmasked server frame; sender and pong replies share the stream
+        synchronized void write(int opcode, byte[] payload) throws IOException {
+            ByteArrayOutputStream header = new ByteArrayOutputStream(10);
+            header.write(0x80 | opcode);
+            if (payload.length < 126) {
+                header.write(payload.length);
+            } else if (payload.length < 65536) {
+                header.write(126);
+                header.write(payload.length >>> 8);
+                header.write(payload.length);
+            } else {
+                header.write(127);
+                new DataOutputStream(header).writeLong(payload.length);
+            }
+            header.writeTo(out);
+            out.write(payload);
+            out.flush();
+        }
+
+        void close() {
+            closed = true;
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    // Visible objects of one published state, quantized and sorted by id
+    private static class Frame {
+        private int version;
+        private final long epochSecond;
+        private final float latitude;
+        private final float longitude;
+        private final float rotation;
+        private final int[] ids;
+        private final short[] x;
+        private final short[] y;
+        private final byte[] magnitude;
+        // Encodings by base version (-1 for the key frame), shared by clients at the same base
+        private final Map<Integer, byte[]> encodings = new ConcurrentHashMap<>();
+
+        private Frame(long epochSecond, float latitude, float longitude, float rotation, int count) {
+            this.epochSecond = epochSecond;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.rotation = rotation;
+            this.ids = new int[count];
+            this.x = new short[count];
+            this.y = new short[count];
+            this.magnitude = new byte[count];
+        }
+
+        static Frame of(SkyState state, double limitingMagnitude, double reteRotation) {
+            StarCatalog catalog = state.getCatalog();
+            int bodies = state.getBodyCount();
+            int count = 0;
+            for (int b = 0; b < bodies; b++) {
+                if (state.isBodyVisible(b)) count++;
+            }
+            for (int i = 0; i < state.getStarCount(); i++) {
+                if (state.isStarVisible(i) && catalog.getMagnitude(i) <= limitingMagnitude) count++;
+            }
+
+            Frame frame = new Frame(state.getDateTime().toEpochSecond(ZoneOffset.UTC), (float) state.getLatitude(),
+                    (float) state.getLongitude(), (float) (((reteRotation % 360) + 360) % 360), count);
+            int n = 0;
+            for (int b = 0; b < bodies; b++) {
+                if (state.isBodyVisible(b)) {
+                    frame.set(n++, b, state.getBodyX(b), state.getBodyY(b), 0);
+                }
+            }
+            for (int i = 0; i < state.getStarCount(); i++) {
+                if (state.isStarVisible(i) && catalog.getMagnitude(i) <= limitingMagnitude) {
+                    frame.set(n++, bodies + i, state.getStarX(i), state.getStarY(i), catalog.getMagnitude(i));
+                }
+            }
+            return frame;
+        }
+
+        private void set(int n, int id, double px, double py, double mag) {
+            ids[n] = id;
+            x[n] = (short) Math.max(-32767, Math.min(32767, Math.round(px * POSITION_SCALE)));
+            y[n] = (short) Math.max(-32767, Math.min(32767, Math.round(py * POSITION_SCALE)));
+            magnitude[n] = (byte) Math.max(-128, Math.min(127, Math.round(mag * 10)));
+        }
+
+        boolean sameAs(Frame other) {
+            return other != null && epochSecond == other.epochSecond && latitude == other.latitude
+                    && longitude == other.longitude && rotation == other.rotation
+                    && Arrays.equals(ids, other.ids) && Arrays.equals(x, other.x)
+                    && Arrays.equals(y, other.y) && Arrays.equals(magnitude, other.magnitude);
+        }
+
+        byte[] encode(Frame base) {
+            return encodings.computeIfAbsent(base == null ? -1 : base.version, v -> encodeAgainst(base));
+        }
+
+        // Merge of the two sorted id lists: new or moved entries are upserts, missing ones removals
+        private byte[] encodeAgainst(Frame base) {
+            ByteArrayOutputStream upserts = new ByteArrayOutputStream();
+            ByteArrayOutputStream removals = new ByteArrayOutputStream();
+            int upsertCount = 0;
+            int removalCount = 0;
+            int lastUpsert = 0;
+            int lastRemoval = 0;
+            int baseCount = base == null ? 0 : base.ids.length;
+            int i = 0;
+            int j = 0;
+            while (i < ids.length || j < baseCount) {
+                if (j >= baseCount || (i < ids.length && ids[i] < base.ids[j])) {
+                    lastUpsert = writeUpsert(upserts, i++, lastUpsert);
+                    upsertCount++;
+                } else if (i >= ids.length || base.ids[j] < ids[i]) {
+                    writeVarint(removals, base.ids[j] - lastRemoval);
+                    lastRemoval = base.ids[j++];
+                    removalCount++;
+                } else {
+                    if (x[i] != base.x[j] || y[i] != base.y[j] || magnitude[i] != base.magnitude[j]) {
+                        lastUpsert = writeUpsert(upserts, i, lastUpsert);
+                        upsertCount++;
+                    }
+                    i++;
+                    j++;
+                }
+            }
+
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(33 + upserts.size() + removals.size());
+            try {
+                DataOutputStream out = new DataOutputStream(bytes);
+                out.writeByte(base == null ? 0 : 1);
+                out.writeInt(version);
+                out.writeInt(base == null ? 0 : base.version);
+                out.writeLong(epochSecond);
+                out.writeFloat(latitude);
+                out.writeFloat(longitude);
+                out.writeFloat(rotation);
+                writeVarint(bytes, upsertCount);
+                upserts.writeTo(bytes);
+                writeVarint(bytes, removalCount);
+                removals.writeTo(bytes);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            return bytes.toByteArray();
+        }
+
+        private int writeUpsert(ByteArrayOutputStream out, int n, int lastId) {
+            writeVarint(out, ids[n] - lastId);
+            out.write(x[n] >>> 8);
+            out.write(x[n]);
+            out.write(y[n] >>> 8);
+            out.write(y[n]);
+            out.write(magnitude[n]);
+            return ids[n];
+        }
+
+        private static void writeVarint(ByteArrayOutputStream out, int value) {
+            while ((value & ~0x7F) != 0) {
+                out.write((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            out.write(value);
+        }
+    }
+}
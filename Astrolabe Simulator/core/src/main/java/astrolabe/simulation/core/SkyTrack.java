@@ -0,0 +1,323 @@
+package astrolabe.simulation.core;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class SkyTrack {
+    // Sky motion for one observer as keyframes, sampled in between with cubic Hermite
+    // splines whose tangents are finite differences of the neighbouring keyframes.
+    // Keyframes are placed by midpoint subdivision until the chord of every segment stays
+    // within the tolerance (unit plate radius) of the true midpoint. Stars share one set of
+    // keyframes; each body has its own, so the Moon or a body crossing the horizon gets
+    // denser keys without recomputing the catalog for them. Immutable: cover() returns an
+    // extended copy that reuses the keyframes still in the window.
+    private static final int RA = 0;
+    private static final int DEC = 1;
+    private static final int ALTITUDE = 2;
+    private static final int AZIMUTH = 3;
+    private static final int X = 4;
+    private static final int Y = 5;
+
+    private final StarCatalog catalog;
+    private final double latitude;
+    private final double longitude;
+    private final int tiers;
+    private final double tolerance;
+    private final double minSpacing;
+    private final double maxSpacing;
+    private final double[] keyTimes;
+    private final SkyState[] keys;
+    private final double[][] bodyTimes;
+    private final double[][][] bodyKeys;
+
+    public SkyTrack(StarCatalog catalog, double latitude, double longitude, int tiers, double tolerance,
+                    Duration minSpacing, Duration maxSpacing) {
+        this(catalog, latitude, longitude, tiers, tolerance, minSpacing.toMillis() / 1000.0,
+                maxSpacing.toMillis() / 1000.0, new double[0], new SkyState[0],
+                new double[SkyState.BODIES.length][0], new double[SkyState.BODIES.length][0][]);
+    }
+
+    private SkyTrack(StarCatalog catalog, double latitude, double longitude, int tiers, double tolerance,
+                     double minSpacing, double maxSpacing, double[] keyTimes, SkyState[] keys,
+                     double[][] bodyTimes, double[][][] bodyKeys) {
+        this.catalog = catalog;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.tiers = tiers;
+        this.tolerance = tolerance;
+        this.minSpacing = minSpacing;
+        this.maxSpacing = maxSpacing;
+        this.keyTimes = keyTimes;
+        this.keys = keys;
+        this.bodyTimes = bodyTimes;
+        this.bodyKeys = bodyKeys;
+    }
+
+    public boolean matches(StarCatalog catalog, double latitude, double longitude, int tiers) {
+        return this.catalog == catalog && this.latitude == latitude && this.longitude == longitude && this.tiers == tiers;
+    }
+
+    public StarCatalog getCatalog() {
+        return catalog;
+    }
+
+    public boolean covers(LocalDateTime time) {
+        return covers(time, time);
+    }
+
+    public boolean covers(LocalDateTime from, LocalDateTime to) {
+        return keyTimes.length > 0 && keyTimes[0] <= seconds(from) && seconds(to) <= keyTimes[keyTimes.length - 1];
+    }
+
+    public int getKeyCount() {
+        return keys.length;
+    }
+
+    public int getBodyKeyCount(int b) {
+        return bodyTimes[b].length;
+    }
+
+    // Keyframes spanning [from, to]: the ones already there are kept (plus one on either
+    // side for the tangents), the gaps at either end are subdivided afresh
+    public SkyTrack cover(LocalDateTime from, LocalDateTime to) {
+        double start = seconds(from);
+        double end = seconds(to);
+
+        List<Double> times = new ArrayList<>();
+        List<SkyState> states = new ArrayList<>();
+        Keyer<SkyState> starKeyer = new Keyer<>() {
+            public SkyState at(double time) {
+                return SkyState.computeTiers(catalog, latitude, longitude, time(time), tiers);
+            }
+
+            public double error(SkyState a, SkyState mid, SkyState b) {
+                return starError(a, mid, b);
+            }
+        };
+        extend(keyTimes, keys, start, end, starKeyer, times, states);
+
+        double[][] newBodyTimes = new double[bodyTimes.length][];
+        double[][][] newBodyKeys = new double[bodyTimes.length][][];
+        for (int b = 0; b < bodyTimes.length; b++) {
+            int body = b;
+            Keyer<double[]> bodyKeyer = new Keyer<>() {
+                public double[] at(double time) {
+                    return SkyState.projectBody(body, latitude, longitude, time(time));
+                }
+
+                public double error(double[] a, double[] mid, double[] c) {
+                    return bodyError(a, mid, c);
+                }
+            };
+            List<Double> bt = new ArrayList<>();
+            List<double[]> bk = new ArrayList<>();
+            extend(bodyTimes[b], bodyKeys[b], start, end, bodyKeyer, bt, bk);
+            newBodyTimes[b] = toArray(bt);
+            newBodyKeys[b] = bk.toArray(new double[0][]);
+        }
+
+        return new SkyTrack(catalog, latitude, longitude, tiers, tolerance, minSpacing, maxSpacing,
+                toArray(times), states.toArray(new SkyState[0]), newBodyTimes, newBodyKeys);
+    }
+
+    public SkyState sample(LocalDateTime dateTime) {
+        double time = seconds(dateTime);
+        SkyState state = new SkyState(latitude, longitude, dateTime, catalog, tiers);
+
+        int j = segment(keyTimes, time);
+        SkyState p0 = j > 0 ? keys[j - 1] : null;
+        SkyState p1 = keys[j];
+        SkyState p2 = keys[Math.min(j + 1, keys.length - 1)];
+        SkyState p3 = j + 2 < keys.length ? keys[j + 2] : null;
+        double t0 = p0 == null ? Double.NaN : keyTimes[j - 1];
+        double t1 = keyTimes[j];
+        double t2 = keyTimes[Math.min(j + 1, keys.length - 1)];
+        double t3 = p3 == null ? Double.NaN : keyTimes[j + 2];
+        // Rows that never rise stay empty; circumpolar rows are above the horizon at both keys
+        int[][] bands = SkyState.bands(catalog, latitude, dateTime);
+        for (int k = 0; k < tiers; k++) {
+            int[] band = bands[k];
+            state.clearStars(catalog.getTierStart(k), band[0]);
+            state.clearStars(band[1], catalog.getTierStart(k + 1));
+            for (int i = band[0]; i < band[1]; i++) {
+                sampleStar(state, i, i >= band[2] && i < band[3], time, t0, p0, t1, p1, t2, p2, t3, p3);
+            }
+        }
+
+        double[] values = new double[Y + 1];
+        for (int b = 0; b < bodyTimes.length; b++) {
+            double[] bt = bodyTimes[b];
+            double[][] bk = bodyKeys[b];
+            int k = segment(bt, time);
+            int k2 = Math.min(k + 1, bt.length - 1);
+            for (int f = 0; f <= Y; f++) {
+                values[f] = hermite(k > 0 ? bt[k - 1] : Double.NaN, k > 0 ? bk[k - 1][f] : Double.NaN,
+                        bt[k], bk[k][f], bt[k2], bk[k2][f],
+                        k + 2 < bt.length ? bt[k + 2] : Double.NaN, k + 2 < bt.length ? bk[k + 2][f] : Double.NaN,
+                        time, f == RA || f == AZIMUTH);
+            }
+            if (Double.isNaN(bk[k][X]) || Double.isNaN(bk[k2][X])) {
+                double[] xy = Projection.stereographicProjection(values[ALTITUDE], values[AZIMUTH], 1);
+                values[X] = xy[0];
+                values[Y] = xy[1];
+            }
+            state.setBodyPosition(b, values[RA], values[DEC], values[ALTITUDE], values[AZIMUTH], values[X], values[Y]);
+        }
+        return state;
+    }
+
+    private static void sampleStar(SkyState state, int i, boolean circumpolar, double time, double t0, SkyState p0,
+                                   double t1, SkyState p1, double t2, SkyState p2, double t3, SkyState p3) {
+        double altitude = hermite(t0, p0 == null ? Double.NaN : p0.getStarAltitude(i), t1, p1.getStarAltitude(i),
+                t2, p2.getStarAltitude(i), t3, p3 == null ? Double.NaN : p3.getStarAltitude(i), time, false);
+        double azimuth = hermite(t0, p0 == null ? Double.NaN : p0.getStarAzimuth(i), t1, p1.getStarAzimuth(i),
+                t2, p2.getStarAzimuth(i), t3, p3 == null ? Double.NaN : p3.getStarAzimuth(i), time, true);
+        if (circumpolar || (p1.isStarVisible(i) && p2.isStarVisible(i))) {
+            state.setStarPosition(i, altitude, azimuth,
+                    hermite(t0, p0 == null ? Double.NaN : p0.getStarX(i), t1, p1.getStarX(i),
+                            t2, p2.getStarX(i), t3, p3 == null ? Double.NaN : p3.getStarX(i), time, false),
+                    hermite(t0, p0 == null ? Double.NaN : p0.getStarY(i), t1, p1.getStarY(i),
+                            t2, p2.getStarY(i), t3, p3 == null ? Double.NaN : p3.getStarY(i), time, false));
+        } else {
+            double[] xy = Projection.stereographicProjection(altitude, azimuth, 1);
+            state.setStarPosition(i, altitude, azimuth, xy[0], xy[1]);
+        }
+    }
+
+    private interface Keyer<T> {
+        T at(double time);
+
+        double error(T a, T mid, T b);
+    }
+
+    private <T> void extend(double[] oldTimes, T[] oldKeys, double start, double end, Keyer<T> keyer,
+                            List<Double> times, List<T> out) {
+        int lo = 0;
+        while (lo < oldTimes.length && oldTimes[lo] < start) lo++;
+        int hi = oldTimes.length - 1;
+        while (hi >= 0 && oldTimes[hi] > end) hi--;
+        lo = Math.max(0, lo - 1);
+        hi = Math.min(oldTimes.length - 1, hi + 1);
+
+        if (lo > hi) {
+            T first = keyer.at(start);
+            times.add(start);
+            out.add(first);
+            subdivide(start, first, end, keyer.at(end), keyer, times, out);
+            return;
+        }
+
+        if (oldTimes[lo] > start) {
+            T first = keyer.at(start);
+            times.add(start);
+            out.add(first);
+            subdivide(start, first, oldTimes[lo], oldKeys[lo], keyer, times, out);
+            times.remove(times.size() - 1);
+            out.remove(out.size() - 1);
+        }
+        for (int k = lo; k <= hi; k++) {
+            times.add(oldTimes[k]);
+            out.add(oldKeys[k]);
+        }
+        if (oldTimes[hi] < end) {
+            subdivide(oldTimes[hi], oldKeys[hi], end, keyer.at(end), keyer, times, out);
+        }
+    }
+
+    // Appends the keys in (t0, t1]; a is already in
+    private <T> void subdivide(double t0, T a, double t1, T b, Keyer<T> keyer, List<Double> times, List<T> out) {
+        double span = t1 - t0;
+        if (span > maxSpacing || span >= 2 * minSpacing) {
+            double tm = (t0 + t1) / 2;
+            T mid = keyer.at(tm);
+            if (span > maxSpacing || keyer.error(a, mid, b) > tolerance) {
+                subdivide(t0, a, tm, mid, keyer, times, out);
+                subdivide(tm, mid, t1, b, keyer, times, out);
+                return;
+            }
+        }
+        times.add(t1);
+        out.add(b);
+    }
+
+    // Largest chord deviation of a star above the horizon at all three instants
+    private static double starError(SkyState a, SkyState mid, SkyState b) {
+        double worst = 0;
+        for (int i = 0; i < mid.getStarCount(); i++) {
+            if (!a.isStarVisible(i) || !mid.isStarVisible(i) || !b.isStarVisible(i)) continue;
+            worst = Math.max(worst, Math.hypot(mid.getStarX(i) - (a.getStarX(i) + b.getStarX(i)) / 2,
+                    mid.getStarY(i) - (a.getStarY(i) + b.getStarY(i)) / 2));
+        }
+        return worst;
+    }
+
+    // A body rising or setting inside the segment always splits it, down to the minimum spacing
+    private static double bodyError(double[] a, double[] mid, double[] b) {
+        boolean visible = !Double.isNaN(a[X]);
+        if (visible != !Double.isNaN(mid[X]) || visible != !Double.isNaN(b[X])) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return visible ? Math.hypot(mid[X] - (a[X] + b[X]) / 2, mid[Y] - (a[Y] + b[Y]) / 2) : 0;
+    }
+
+    // Index of the key at or before time, clamped to the ends
+    private static int segment(double[] times, double time) {
+        int k = Arrays.binarySearch(times, time);
+        if (k < 0) {
+            k = -k - 2;
+        }
+        return Math.max(0, Math.min(k, times.length - 2));
+    }
+
+    // Cubic Hermite between (t1, p1) and (t2, p2) with finite-difference tangents; one-sided
+    // at the ends of the track or next to a key below the horizon (NaN)
+    static double hermite(double t0, double p0, double t1, double p1, double t2, double p2, double t3, double p3,
+                          double t, boolean angle) {
+        if (Double.isNaN(p1) || Double.isNaN(p2) || t2 <= t1) {
+            return t - t1 < t2 - t ? p1 : p2;
+        }
+        if (angle) {
+            p0 = p1 + wrap(p0 - p1);
+            p2 = p1 + wrap(p2 - p1);
+            p3 = p2 + wrap(p3 - p2);
+        }
+
+        double h = t2 - t1;
+        double s = Math.max(0, Math.min(1, (t - t1) / h));
+        double chord = (p2 - p1) / h;
+        double m1 = Double.isNaN(p0) ? chord : (p2 - p0) / (t2 - t0);
+        double m2 = Double.isNaN(p3) ? chord : (p3 - p1) / (t3 - t1);
+
+        double s2 = s * s;
+        double s3 = s2 * s;
+        double value = (2 * s3 - 3 * s2 + 1) * p1 + (s3 - 2 * s2 + s) * h * m1
+                + (-2 * s3 + 3 * s2) * p2 + (s3 - s2) * h * m2;
+        return angle ? (value % 360 + 360) % 360 : value;
+    }
+
+    private static double wrap(double degrees) {
+        return ((degrees % 360) + 540) % 360 - 180;
+    }
+
+    private static double seconds(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) + dateTime.getNano() / 1e9;
+    }
+
+    private static LocalDateTime time(double seconds) {
+        long whole = (long) Math.floor(seconds);
+        return LocalDateTime.ofEpochSecond(whole, (int) ((seconds - whole) * 1e9),
+                ZoneOffset.UTC);
+    }
+
+    private static double[] toArray(List<Double> values) {
+        double[] array = new double[values.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = values.get(i);
+        }
+        return array;
+    }
+}
@@ -0,0 +1,209 @@
+package astrolabe.simulation.core;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class StarCatalog {
+    // Upper magnitude of each detail tier; tier 0 is the brightest
+    public static final double[] TIER_LIMITS = {2.5, 4.0, 5.5, 7.0, Double.POSITIVE_INFINITY};
+
+    // Rows are grouped by magnitude tier (brightest first) and sorted by declination
+    // inside each tier, so any tier prefix is a brightest-N prefix of the catalog and
+    // every tier can be turned into index ranges for a latitude
+    private final String[] names;
+    private final double[] ra;
+    private final double[] dec;
+    private final double[] mag;
+    private final double[] bv;
+    private final int[] tierStart;
+
+    public StarCatalog(Map<String, double[]> stars) {
+        this(new ArrayList<>(stars.entrySet()));
+    }
+
+    // One entry per row; names need not be unique
+    public StarCatalog(List<Map.Entry<String, double[]>> stars) {
+        List<Map.Entry<String, double[]>> entries = new ArrayList<>(stars);
+        entries.sort((a, b) -> {
+            int byTier = Integer.compare(tierOf(a.getValue()[2]), tierOf(b.getValue()[2]));
+            return byTier != 0 ? byTier : Double.compare(a.getValue()[1], b.getValue()[1]);
+        });
+
+        int n = entries.size();
+        names = new String[n];
+        ra = new double[n];
+        dec = new double[n];
+        mag = new double[n];
+        bv = new double[n];
+        tierStart = new int[TIER_LIMITS.length + 1];
+
+        int[] tierCounts = new int[TIER_LIMITS.length];
+        for (int i = 0; i < n; i++) {
+            Map.Entry<String, double[]> entry = entries.get(i);
+            double[] starData = entry.getValue();
+            names[i] = entry.getKey();
+            ra[i] = starData[0];
+            dec[i] = starData[1];
+            mag[i] = starData[2];
+            bv[i] = starData.length > 3 ? starData[3] : Double.NaN;
+            tierCounts[tierOf(mag[i])]++;
+        }
+
+        for (int k = 0; k < TIER_LIMITS.length; k++) {
+            tierStart[k + 1] = tierStart[k] + tierCounts[k];
+        }
+    }
+
+    // The simulator's built-in navigation stars: {raHours, decDegrees, magnitude, bv}
+    public static StarCatalog brightStars() {
+        Map<String, double[]> stars = new HashMap<>();
+        stars.put("Polaris", new double[]{2.530193, 89.264109, 2.0, 0.60});
+        stars.put("Vega", new double[]{18.61565, 38.78369, 0.0, 0.00});
+        stars.put("Sirius", new double[]{6.752481, -16.716116, -1.46, 0.00});
+        stars.put("Betelgeuse", new double[]{5.91953, 7.407063, 0.42, 1.85});
+        stars.put("Rigel", new double[]{5.242297, -8.20164, 0.13, -0.03});
+        stars.put("Procyon", new double[]{7.655026, 5.224987, 0.34, 0.42});
+        stars.put("Capella", new double[]{5.27816, 45.99799, 0.08, 0.80});
+        return new StarCatalog(stars);
+    }
+
+    // Reads "name,raHours,decDegrees,magnitude[,bv]" lines; blank lines and '#' comments are
+    // skipped. Every row is kept, duplicate names included; a row without a name or with
+    // unparsable or out-of-range numbers fails the load with its line number.
+    public static StarCatalog load(Path path) throws IOException {
+        List<Map.Entry<String, double[]>> stars = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(path)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) continue;
+
+                String[] fields = line.split(",");
+                if (fields.length < 4 || fields[0].trim().isEmpty()) {
+                    throw new IOException("Malformed catalog line " + lineNumber + ": " + line);
+                }
+                double[] row;
+                try {
+                    row = new double[]{
+                            Double.parseDouble(fields[1].trim()),
+                            Double.parseDouble(fields[2].trim()),
+                            Double.parseDouble(fields[3].trim()),
+                            fields.length > 4 && !fields[4].trim().isEmpty()
+                                    ? Double.parseDouble(fields[4].trim()) : Double.NaN
+                    };
+                } catch (NumberFormatException e) {
+                    throw new IOException("Malformed catalog line " + lineNumber + ": " + line, e);
+                }
+                if (!(row[0] >= 0 && row[0] < 24) || !(row[1] >= -90 && row[1] <= 90) || Double.isNaN(row[2])) {
+                    throw new IOException("Catalog line " + lineNumber + " out of range: " + line);
+                }
+                stars.add(Map.entry(fields[0].trim(), row));
+            }
+        }
+        return new StarCatalog(stars);
+    }
+
+    // Declination margin for band culling at epoch t (Julian centuries from J2000): the
+    // precession drift possible over the whole centuries elapsed, plus refraction slack
+    public static double bandMargin(double t) {
+        int century = (int) Math.ceil(Math.abs(t));
+        return 2.0 + (2004.3109 * century + 0.85330 * century * century) / 3600;
+    }
+
+    private static int tierOf(double magnitude) {
+        int tier = 0;
+        while (magnitude >= TIER_LIMITS[tier]) {
+            tier++;
+        }
+        return tier;
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    public String getName(int i) {
+        return names[i];
+    }
+
+    public double getRa(int i) {
+        return ra[i];
+    }
+
+    public double getDec(int i) {
+        return dec[i];
+    }
+
+    public double getMagnitude(int i) {
+        return mag[i];
+    }
+
+    // B-V colour index, NaN when unknown
+    public double getColorIndex(int i) {
+        return bv[i];
+    }
+
+    public int getTierCount() {
+        return TIER_LIMITS.length;
+    }
+
+    // First row of a tier; getTierStart(getTierCount()) is size()
+    public int getTierStart(int tier) {
+        return tierStart[tier];
+    }
+
+    // Number of leading tiers that contain stars brighter than the limiting magnitude
+    public int tiersBrighterThan(double limitingMagnitude) {
+        int tiers = 0;
+        while (tiers < TIER_LIMITS.length
+                && (tiers == 0 || TIER_LIMITS[tiers - 1] < limitingMagnitude)) {
+            tiers++;
+        }
+        return tiers;
+    }
+
+    // First index in [from, to) whose declination is >= the given value (to if none)
+    public int lowerBound(int from, int to, double declination) {
+        int lo = from;
+        int hi = to;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (dec[mid] < declination) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    // Index ranges per tier for a latitude: {visibleFrom, visibleTo, circumpolarFrom, circumpolarTo}.
+    // Rows outside [visibleFrom, visibleTo) never rise, rows inside
+    // [circumpolarFrom, circumpolarTo) never set. The margin (degrees) widens the
+    // uncertain band so that precession and refraction cannot move a star across.
+    public int[][] visibleBands(double latitude, double margin) {
+        int[][] bands = new int[TIER_LIMITS.length][];
+        for (int k = 0; k < bands.length; k++) {
+            int from = tierStart[k];
+            int to = tierStart[k + 1];
+            if (latitude >= 0) {
+                int visibleFrom = lowerBound(from, to, latitude - 90 - margin);
+                int circumpolarFrom = Math.max(visibleFrom, lowerBound(from, to, 90 - latitude + margin));
+                bands[k] = new int[]{visibleFrom, to, circumpolarFrom, to};
+            } else {
+                int visibleTo = lowerBound(from, to, 90 + latitude + margin);
+                int circumpolarTo = Math.min(visibleTo, lowerBound(from, to, -90 - latitude - margin));
+                bands[k] = new int[]{from, visibleTo, from, circumpolarTo};
+            }
+        }
+        return bands;
+    }
+}
@@ -0,0 +1,143 @@
+package astrolabe.simulation.core;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Locale;
+
+public class SvgPlateRenderer implements PlateRenderer, Closeable {
+    // Streams each primitive straight to the writer; nothing is kept in memory
+    private static final String STYLES =
+            ".astrolabe-label{font-family:'Times New Roman',serif;font-size:10px;fill:#e0e0e0}"
+            + ".star-label{font-family:'Times New Roman',serif;font-size:9px;fill:#bbbbbb}"
+            + ".planet-label{font-family:'Times New Roman',serif;font-size:9px;fill:#e0e0e0}"
+            + ".celestial-grid{stroke:#505050;stroke-width:0.5;opacity:0.5}";
+
+    private final Writer out;
+
+    // The view box is centred on the plate and extends half the size in every direction
+    public SvgPlateRenderer(Writer out, double size) {
+        this.out = out;
+        double half = size / 2;
+        write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+        write("<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"" + num(size) + "\" height=\"" + num(size)
+                + "\" viewBox=\"" + num(-half) + " " + num(-half) + " " + num(size) + " " + num(size) + "\">\n");
+        write("<style>" + STYLES + "</style>\n");
+        write("<rect x=\"" + num(-half) + "\" y=\"" + num(-half) + "\" width=\"" + num(size)
+                + "\" height=\"" + num(size) + "\" fill=\"#2b2b2b\"/>\n");
+    }
+
+    @Override
+    public void circle(double cx, double cy, double r, Pen pen) {
+        write("<circle cx=\"" + num(cx) + "\" cy=\"" + num(cy) + "\" r=\"" + num(r) + "\"" + attributes(pen) + "/>\n");
+    }
+
+    @Override
+    public void arc(double cx, double cy, double r, double startAngle, double extent, Pen pen) {
+        double start = Math.toRadians(startAngle);
+        double end = Math.toRadians(startAngle + extent);
+        write("<path d=\"M" + num(cx + r * Math.cos(start)) + " " + num(cy + r * Math.sin(start))
+                + "A" + num(r) + " " + num(r) + " 0 " + (Math.abs(extent) > 180 ? 1 : 0) + " " + (extent > 0 ? 1 : 0)
+                + " " + num(cx + r * Math.cos(end)) + " " + num(cy + r * Math.sin(end)) + "\"" + attributes(pen) + "/>\n");
+    }
+
+    @Override
+    public void sector(double cx, double cy, double r, double startAngle, double extent, Pen pen) {
+        double start = Math.toRadians(startAngle);
+        double end = Math.toRadians(startAngle + extent);
+        write("<path d=\"M" + num(cx) + " " + num(cy) + "L" + num(cx + r * Math.cos(start)) + " " + num(cy + r * Math.sin(start))
+                + "A" + num(r) + " " + num(r) + " 0 " + (Math.abs(extent) > 180 ? 1 : 0) + " " + (extent > 0 ? 1 : 0)
+                + " " + num(cx + r * Math.cos(end)) + " " + num(cy + r * Math.sin(end)) + "Z\"" + attributes(pen) + "/>\n");
+    }
+
+    @Override
+    public void ellipse(double cx, double cy, double rx, double ry, Pen pen) {
+        write("<ellipse cx=\"" + num(cx) + "\" cy=\"" + num(cy) + "\" rx=\"" + num(rx) + "\" ry=\"" + num(ry) + "\""
+                + attributes(pen) + "/>\n");
+    }
+
+    @Override
+    public void line(double x1, double y1, double x2, double y2, Pen pen) {
+        write("<line x1=\"" + num(x1) + "\" y1=\"" + num(y1) + "\" x2=\"" + num(x2) + "\" y2=\"" + num(y2) + "\""
+                + attributes(pen) + "/>\n");
+    }
+
+    @Override
+    public void polygon(double[] points, Pen pen) {
+        write("<polygon points=\"" + points(points) + "\"" + attributes(pen) + "/>\n");
+    }
+
+    @Override
+    public void polyline(double[] points, Pen pen) {
+        write("<polyline points=\"" + points(points) + "\"" + attributes(pen) + "/>\n");
+    }
+
+    @Override
+    public void text(double x, double y, String text, String styleClass, double rotate) {
+        String transform = rotate != 0 ? " transform=\"rotate(" + num(rotate) + " " + num(x) + " " + num(y) + ")\"" : "";
+        write("<text x=\"" + num(x) + "\" y=\"" + num(y) + "\" class=\"" + styleClass + "\"" + transform + ">"
+                + escape(text) + "</text>\n");
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.write("</svg>\n");
+        out.flush();
+    }
+
+    private static String points(double[] points) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < points.length; i += 2) {
+            sb.append(i > 0 ? " " : "").append(num(points[i])).append(',').append(num(points[i + 1]));
+        }
+        return sb.toString();
+    }
+
+    private String attributes(Pen pen) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(" stroke=\"").append(hex(pen.getStroke())).append('"');
+        if (pen.getOpacity() < 1) {
+            sb.append(" stroke-opacity=\"").append(num(pen.getOpacity())).append('"');
+        }
+        if (pen.getWidth() != 1) {
+            sb.append(" stroke-width=\"").append(num(pen.getWidth())).append('"');
+        }
+        if (pen.isDashed()) {
+            sb.append(" stroke-dasharray=\"");
+            double[] dash = pen.getDash();
+            for (int i = 0; i < dash.length; i++) {
+                sb.append(i > 0 ? "," : "").append(num(dash[i]));
+            }
+            sb.append('"');
+        }
+        sb.append(" fill=\"").append(pen.isFilled() ? hex(pen.getFill()) : "none").append('"');
+        if (pen.getStyleClass() != null) {
+            sb.append(" class=\"").append(pen.getStyleClass()).append('"');
+        }
+        return sb.toString();
+    }
+
+    private void write(String s) {
+        try {
+            out.write(s);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String hex(int rgb) {
+        return String.format("#%06x", rgb);
+    }
+
+    private static String num(double value) {
+        if (value == Math.rint(value) && Math.abs(value) < 1e9) {
+            return Long.toString((long) value);
+        }
+        return String.format(Locale.ROOT, "%.2f", value);
+    }
+
+    private static String escape(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+}
@@ -0,0 +1,257 @@
+package astrolabe.simulation.core;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.zip.Adler32;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import javax.imageio.ImageIO;
+
+public class TiledRasterExporter {
+    // Renders a face at print resolution one full-width strip at a time and streams the
+    // strips into a PNG. Workers rasterise, filter and deflate their strip; the writer
+    // appends them in order. Only a few strips are in flight, so memory is bounded by
+    // the strip size, not the image size.
+    private static final long STRIP_PIXELS = 4_000_000L;
+    private static final int PREVIEW_SIZE = 660;
+    private static final int ADLER_BASE = 65521;
+
+    private final int size;
+    private final double pageSize;
+    private final Consumer<PlateRenderer> painter;
+    private final int threads;
+    private final int factor;
+    private final int stripHeight;
+    private int[] preview;
+
+    public TiledRasterExporter(int size, double pageSize, Consumer<PlateRenderer> painter) {
+        this.size = size;
+        this.pageSize = pageSize;
+        this.painter = painter;
+        this.threads = Runtime.getRuntime().availableProcessors();
+        // Box-filter factor for the preview; strips hold whole preview rows
+        this.factor = Math.max(1, size / PREVIEW_SIZE);
+        int rows = (int) Math.max(1, Math.min(size, STRIP_PIXELS / size));
+        this.stripHeight = Math.max(factor, rows / factor * factor);
+    }
+
+    // Usage: TiledRasterExporter --out=astrolabe.png --size=20000 [--verify=true] [--preview=small.png] and the
+    //        face options of PlateExporter (--face, --latitude, --time, --catalog, ...)
+    public static void main(String[] args) throws Exception {
+        System.setProperty("java.awt.headless", "true");
+        Map<String, String> options = PlateExporter.parseOptions(args);
+        Consumer<PlateRenderer> painter = PlateExporter.face(options);
+        int size = Integer.parseInt(options.getOrDefault("size", "20000"));
+        Path out = Path.of(options.getOrDefault("out", "astrolabe.png"));
+
+        TiledRasterExporter exporter = new TiledRasterExporter(size, PlateExporter.PAGE_SIZE, painter);
+        long start = System.nanoTime();
+        exporter.write(out);
+        System.out.printf("Wrote %dx%d px to %s in %d ms%n", size, size, out, (System.nanoTime() - start) / 1_000_000);
+
+        if (Boolean.parseBoolean(options.getOrDefault("verify", "false"))) {
+            double[] difference = exporter.compareWithReference();
+            System.out.printf("Downscaled against a %d px render: mean difference %.2f, max %.0f (of 255)%n",
+                    exporter.getPreviewSize(), difference[0], difference[1]);
+        }
+        if (options.containsKey("preview")) {
+            ImageIO.write(exporter.getPreview(), "png", new File(options.get("preview")));
+        }
+    }
+
+    public void write(Path path) throws IOException, InterruptedException {
+        int previewSize = getPreviewSize();
+        preview = new int[previewSize * previewSize];
+        int strips = (size + stripHeight - 1) / stripHeight;
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), 1 << 16))) {
+            out.write(new byte[]{(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n'});
+            ByteArrayOutputStream header = new ByteArrayOutputStream();
+            DataOutputStream ihdr = new DataOutputStream(header);
+            ihdr.writeInt(size);
+            ihdr.writeInt(size);
+            ihdr.write(new byte[]{8, 2, 0, 0, 0}); // 8-bit RGB, deflate, adaptive filtering, no interlace
+            writeChunk(out, "IHDR", header.toByteArray());
+
+            // zlib header; each strip is a run of sync-flushed deflate blocks
+            writeChunk(out, "IDAT", new byte[]{0x78, (byte) 0x9c});
+            long adler = 1;
+
+            Deque<Future<Strip>> pending = new ArrayDeque<>();
+            int next = 0;
+            while (next < strips || !pending.isEmpty()) {
+                while (next < strips && pending.size() < threads * 2) {
+                    int y = next++ * stripHeight;
+                    pending.add(pool.submit(() -> renderStrip(y, Math.min(stripHeight, size - y))));
+                }
+                Strip strip = pending.poll().get();
+                writeChunk(out, "IDAT", strip.compressed);
+                adler = combineAdler(adler, strip.adler, strip.length);
+                System.arraycopy(strip.preview, 0, preview, strip.y / factor * previewSize, strip.preview.length);
+            }
+
+            // Empty final block and the Adler-32 of the uncompressed scanlines
+            writeChunk(out, "IDAT", new byte[]{0x03, 0x00,
+                    (byte) (adler >>> 24), (byte) (adler >>> 16), (byte) (adler >>> 8), (byte) adler});
+            writeChunk(out, "IEND", new byte[0]);
+        } catch (ExecutionException e) {
+            throw new IOException("Strip rendering failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    public int getPreviewSize() {
+        return size / factor;
+    }
+
+    // Box-filtered copy of the last export, one pixel per factor x factor block
+    public BufferedImage getPreview() {
+        int previewSize = getPreviewSize();
+        BufferedImage image = new BufferedImage(previewSize, previewSize, BufferedImage.TYPE_INT_RGB);
+        image.setRGB(0, 0, previewSize, previewSize, preview, 0, previewSize);
+        return image;
+    }
+
+    // Mean and maximum per-channel difference between the downscaled export and the
+    // same face rendered in one piece at preview size
+    public double[] compareWithReference() {
+        int previewSize = getPreviewSize();
+        BufferedImage reference = Java2DPlateRenderer.render(painter, previewSize, previewSize,
+                size / pageSize / factor, size / 2.0 / factor, size / 2.0 / factor);
+        int[] expected = ((DataBufferInt) reference.getRaster().getDataBuffer()).getData();
+
+        long total = 0;
+        int max = 0;
+        for (int i = 0; i < preview.length; i++) {
+            for (int shift = 0; shift <= 16; shift += 8) {
+                int d = Math.abs(((preview[i] >> shift) & 0xFF) - ((expected[i] >> shift) & 0xFF));
+                total += d;
+                max = Math.max(max, d);
+            }
+        }
+        return new double[]{total / (3.0 * preview.length), max};
+    }
+
+    private Strip renderStrip(int y, int height) {
+        BufferedImage image = Java2DPlateRenderer.render(painter, size, height, size / pageSize, size / 2.0, size / 2.0 - y);
+        int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+
+        // Sub filter on every scanline: each byte minus the one a pixel to its left
+        int stride = size * 3 + 1;
+        byte[] raw = new byte[stride * height];
+        for (int row = 0; row < height; row++) {
+            int o = row * stride;
+            raw[o] = 1;
+            int previous = 0;
+            for (int x = 0; x < size; x++) {
+                int p = pixels[row * size + x];
+                raw[o + 1 + x * 3] = (byte) ((p >> 16) - (previous >> 16));
+                raw[o + 2 + x * 3] = (byte) ((p >> 8) - (previous >> 8));
+                raw[o + 3 + x * 3] = (byte) (p - previous);
+                previous = p;
+            }
+        }
+
+        Strip strip = new Strip();
+        strip.y = y;
+        strip.length = raw.length;
+        strip.adler = adler(raw);
+        strip.compressed = deflate(raw);
+        strip.preview = downscale(pixels, height);
+        return strip;
+    }
+
+    private int[] downscale(int[] pixels, int height) {
+        int previewSize = getPreviewSize();
+        int rows = height / factor;
+        int[] out = new int[previewSize * rows];
+        int area = factor * factor;
+        for (int py = 0; py < rows; py++) {
+            for (int px = 0; px < previewSize; px++) {
+                int r = 0, g = 0, b = 0;
+                for (int dy = 0; dy < factor; dy++) {
+                    int o = (py * factor + dy) * size + px * factor;
+                    for (int dx = 0; dx < factor; dx++) {
+                        int p = pixels[o + dx];
+                        r += (p >> 16) & 0xFF;
+                        g += (p >> 8) & 0xFF;
+                        b += p & 0xFF;
+                    }
+                }
+                out[py * previewSize + px] = (r / area << 16) | (g / area << 8) | b / area;
+            }
+        }
+        return out;
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        deflater.setInput(raw);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 8);
+        byte[] buffer = new byte[1 << 16];
+        int n;
+        do {
+            n = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+            out.write(buffer, 0, n);
+        } while (n == buffer.length);
+        deflater.end();
+        return out.toByteArray();
+    }
+
+    private static long adler(byte[] data) {
+        Adler32 adler = new Adler32();
+        adler.update(data);
+        return adler.getValue();
+    }
+
+    // Adler-32 of two concatenated blocks from the checksums of each (as zlib's adler32_combine)
+    static long combineAdler(long adler1, long adler2, long length2) {
+        long rem = length2 % ADLER_BASE;
+        long sum1 = adler1 & 0xffff;
+        long sum2 = (rem * sum1) % ADLER_BASE;
+        sum1 += (adler2 & 0xffff) + ADLER_BASE - 1;
+        sum2 += ((adler1 >> 16) & 0xffff) + ((adler2 >> 16) & 0xffff) + ADLER_BASE - rem;
+        if (sum1 >= ADLER_BASE) sum1 -= ADLER_BASE;
+        if (sum1 >= ADLER_BASE) sum1 -= ADLER_BASE;
+        if (sum2 >= (ADLER_BASE << 1)) sum2 -= (ADLER_BASE << 1);
+        if (sum2 >= ADLER_BASE) sum2 -= ADLER_BASE;
+        return sum1 | (sum2 << 16);
+    }
+
+    private static void writeChunk(DataOutputStream out, String type, byte[] data) throws IOException {
+        byte[] name = type.getBytes(StandardCharsets.US_ASCII);
+        CRC32 crc = new CRC32();
+        crc.update(name);
+        crc.update(data);
+        out.writeInt(data.length);
+        out.write(name);
+        out.write(data);
+        out.writeInt((int) crc.getValue());
+    }
+
+    private static class Strip {
+        int y;
+        long length;
+        long adler;
+        byte[] compressed;
+        int[] preview;
+    }
+}
@@ -0,0 +1,42 @@
+package astrolabe.simulation.core;
+
+import java.time.LocalDateTime;
+
+public class TrackingCadence {
+    // How often a real-time sky has to be redrawn to stay within a given number of pixels.
+    // The horizon projection is conformal with scale (1 + r^2) / 2 <= 1 inside the horizon,
+    // and no star moves faster than the sidereal rate on the sphere, so the fastest star
+    // crosses at most SIDEREAL_RATE * radius pixels per second. Bodies move differently;
+    // their speed is measured on the plate over the next minute. Only the planets are
+    // probed: the rete does not draw the Sun, and draws the Moon at a fixed spot.
+    public static final double SIDEREAL_RATE = 2 * Math.PI / 86164.0905; // radians per second
+    private static final long PROBE_SECONDS = 60;
+    private static final int FIRST_PLANET = 2;
+
+    // Seconds until the fastest star moves the given number of pixels
+    public static double starInterval(double radiusPixels, double pixels) {
+        return pixels / (SIDEREAL_RATE * radiusPixels);
+    }
+
+    // Seconds until body b moves the given number of pixels; infinite below the horizon
+    public static double bodyInterval(int b, double latitude, double longitude, LocalDateTime dateTime,
+                                      double radiusPixels, double pixels) {
+        double[] now = SkyState.projectBody(b, latitude, longitude, dateTime);
+        double[] later = SkyState.projectBody(b, latitude, longitude, dateTime.plusSeconds(PROBE_SECONDS));
+        if (Double.isNaN(now[5]) || Double.isNaN(later[5])) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double moved = Math.hypot(later[4] - now[4], later[5] - now[5]) * radiusPixels;
+        return moved == 0 ? Double.POSITIVE_INFINITY : pixels * PROBE_SECONDS / moved;
+    }
+
+    // Seconds between redraws so that nothing on the plate moves more than the given pixels
+    public static double interval(double latitude, double longitude, LocalDateTime dateTime, double radiusPixels,
+                                  double pixels) {
+        double interval = starInterval(radiusPixels, pixels);
+        for (int b = FIRST_PLANET; b < SkyState.BODIES.length; b++) {
+            interval = Math.min(interval, bodyInterval(b, latitude, longitude, dateTime, radiusPixels, pixels));
+        }
+        return interval;
+    }
+}
@@ -0,0 +1,141 @@
+package astrolabe.simulation.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class Tympanum {
+    // Climate plate for one latitude as analytic geometry, clipped to the limb.
+    // Arcs are {cx, cy, r, startAngle, extent} (angles as in ProjectedCircle.clipArc),
+    // segments are {x1, y1, x2, y2}. The plate is centred on the zenith, so almucantars
+    // below the horizon project outside it and are not drawn.
+    private static final Pen ALMUCANTAR_PEN = Pen.rgb(110, 150, 190, 0.7).width(0.6);
+    private static final Pen AZIMUTH_PEN = Pen.rgb(110, 150, 190, 0.7).width(0.5).dash(2, 3);
+    private static final Pen HOUR_PEN = Pen.rgb(170, 130, 200, 0.7).width(0.6);
+    private static final Pen HORIZON_PEN = Pen.rgb(110, 150, 190, 0.7).width(1.2);
+
+    private final double latitude;
+    private final double radius;
+    private final List<double[]> almucantars = new ArrayList<>();
+    private final List<double[]> azimuthLines = new ArrayList<>();
+    private final List<double[]> hourLines = new ArrayList<>();
+    private double[] horizon;
+
+    public Tympanum(double latitude, double radius, double limbRadius) {
+        this.latitude = latitude;
+        this.radius = radius;
+
+        horizon = clippedArc(Projection.projectCircle(90, 0, 90, radius), limbRadius);
+
+        // Almucantars every 10° of altitude
+        for (int alt = 10; alt < 90; alt += 10) {
+            double[] arc = clippedArc(Projection.projectCircle(90, 0, 90 - alt, radius), limbRadius);
+            if (arc != null) almucantars.add(arc);
+        }
+
+        // Azimuth lines every 15°; verticals pass through the nadir, so they project to lines
+        for (int az = 0; az < 180; az += 15) {
+            ProjectedCircle vertical = Projection.projectCircle(0, az + 90, 90, radius);
+            double[] segment = vertical.isLine() ? vertical.clipSegment(limbRadius) : null;
+            if (segment != null) azimuthLines.add(segment);
+        }
+
+        // Unequal (seasonal) hours 1-11: arcs through the hour points on both tropics and the equator
+        double eps = AstroMath.calculateObliquity(0);
+        for (int hour = 1; hour < 12; hour++) {
+            double[] a = unequalHourPoint(hour, -eps);
+            double[] b = unequalHourPoint(hour, 0);
+            double[] c = unequalHourPoint(hour, eps);
+            if (a != null && b != null && c != null) {
+                hourLines.add(arcThrough(a, b, c));
+            }
+        }
+    }
+
+    public void draw(PlateRenderer r) {
+        for (double[] arc : almucantars) {
+            r.arc(arc, ALMUCANTAR_PEN);
+        }
+        for (double[] segment : azimuthLines) {
+            r.line(segment[0], segment[1], segment[2], segment[3], AZIMUTH_PEN);
+        }
+        for (double[] hourLine : hourLines) {
+            if (hourLine.length == 4) {
+                r.line(hourLine[0], hourLine[1], hourLine[2], hourLine[3], HOUR_PEN);
+            } else {
+                r.arc(hourLine, HOUR_PEN);
+            }
+        }
+        if (horizon != null) {
+            r.arc(horizon, HORIZON_PEN);
+        }
+    }
+
+    public double getLatitude() {
+        return latitude;
+    }
+
+    public List<double[]> getAlmucantars() {
+        return Collections.unmodifiableList(almucantars);
+    }
+
+    public List<double[]> getAzimuthLines() {
+        return Collections.unmodifiableList(azimuthLines);
+    }
+
+    // Arcs, or segments when the three hour points are collinear (the noon line)
+    public List<double[]> getHourLines() {
+        return Collections.unmodifiableList(hourLines);
+    }
+
+    public double[] getHorizon() {
+        return horizon;
+    }
+
+    private static double[] clippedArc(ProjectedCircle circle, double limbRadius) {
+        double[] arc = circle.clipArc(limbRadius);
+        if (arc == null) return null;
+        return new double[]{circle.getCenterX(), circle.getCenterY(), circle.getRadius(), arc[0], arc[1]};
+    }
+
+    // Plate position of the Sun at the end of unequal hour n on a day of declination dec
+    double[] unequalHourPoint(int hour, double dec) {
+        double cosH0 = -Math.tan(Math.toRadians(latitude)) * Math.tan(Math.toRadians(dec));
+        if (Math.abs(cosH0) >= 1 || Double.isNaN(cosH0)) return null;
+
+        double h0 = Math.toDegrees(Math.acos(cosH0));
+        double ha = -h0 + hour * h0 / 6;
+        double[] altAz = AstroMath.equatorialToHorizontal(ha, dec, latitude);
+        // Hours 0 and 12 are sunrise and sunset; rounding may put them just below the horizon
+        double[] xy = Projection.stereographicProjection(Math.max(altAz[0], 0), altAz[1], radius);
+        return Double.isNaN(xy[0]) ? null : xy;
+    }
+
+    // Circle arc from a through b to c, or the segment a-c when the points are collinear
+    private static double[] arcThrough(double[] a, double[] b, double[] c) {
+        double d = 2 * (a[0] * (b[1] - c[1]) + b[0] * (c[1] - a[1]) + c[0] * (a[1] - b[1]));
+        if (Math.abs(d) < 1e-9) {
+            return new double[]{a[0], a[1], c[0], c[1]};
+        }
+
+        double a2 = a[0] * a[0] + a[1] * a[1];
+        double b2 = b[0] * b[0] + b[1] * b[1];
+        double c2 = c[0] * c[0] + c[1] * c[1];
+        double cx = (a2 * (b[1] - c[1]) + b2 * (c[1] - a[1]) + c2 * (a[1] - b[1])) / d;
+        double cy = (a2 * (c[0] - b[0]) + b2 * (a[0] - c[0]) + c2 * (b[0] - a[0])) / d;
+        double r = Math.hypot(a[0] - cx, a[1] - cy);
+
+        double startA = Math.toDegrees(Math.atan2(a[1] - cy, a[0] - cx));
+        double toB = normalize(Math.toDegrees(Math.atan2(b[1] - cy, b[0] - cx)) - startA);
+        double toC = normalize(Math.toDegrees(Math.atan2(c[1] - cy, c[0] - cx)) - startA);
+        if (toB <= toC) {
+            return new double[]{cx, cy, r, startA, toC};
+        }
+        return new double[]{cx, cy, r, startA + toC, 360 - toC};
+    }
+
+    private static double normalize(double degrees) {
+        degrees = degrees % 360;
+        return degrees < 0 ? degrees + 360 : degrees;
+    }
+}
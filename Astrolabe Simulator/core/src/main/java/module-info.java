@@ -0,0 +1,8 @@
+module astrolabe.simulation.core {
+    requires transitive java.desktop;
+    requires transitive jdk.httpserver;
+    requires java.logging;
+
+
+    exports astrolabe.simulation.core;
+}
@@ -0,0 +1,25 @@
+package astrolabe.simulation.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.Test;
+
+class AstroMathTest {
+    private static final LocalDateTime J2000 = LocalDateTime.of(2000, 1, 1, 12, 0);
+
+    @Test
+    void julianDateOfTheJ2000Epoch() {
+        assertEquals(2451545.0, AstroMath.toJulianDate(J2000), 0);
+        assertEquals(2451545.5, AstroMath.toJulianDate(J2000.plusHours(12)), 1e-9);
+    }
+
+    @Test
+    void julianDateKeepsFractionsOfASecond() {
+        double whole = AstroMath.toJulianDate(J2000.plusSeconds(7));
+        // Double resolution at this magnitude is about 40 microseconds
+        assertEquals(0.25 / 86400, AstroMath.toJulianDate(J2000.plusSeconds(7).plusNanos(250_000_000)) - whole, 1e-9);
+        assertEquals(AstroMath.toJulianDate(J2000.plusSeconds(8)),
+                AstroMath.toJulianDate(J2000.plusSeconds(7).plusNanos(999_999_999)), 1e-9);
+    }
+}
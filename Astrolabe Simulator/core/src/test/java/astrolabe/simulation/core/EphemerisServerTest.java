@@ -0,0 +1,152 @@
+package astrolabe.simulation.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class EphemerisServerTest {
+    private static final String TIME = "2025-06-21T22:00";
+    private static final String LONDON = "lat=51.5&lon=-0.1&time=" + TIME;
+
+    private EphemerisServer server;
+    private int status;
+
+    private void start(SkyStateCache cache) throws IOException {
+        server = new EphemerisServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), cache);
+        server.start();
+    }
+
+    private void start() throws IOException {
+        start(new SkyStateCache(StarCatalog.brightStars(), 0.01, Duration.ofMinutes(1), 64));
+    }
+
+    @AfterEach
+    void stop() {
+        server.stop();
+    }
+
+    @Test
+    void skyStreamsStarsThenBodies() throws IOException {
+        start();
+        List<String> lines = get("GET", "/sky?" + LONDON);
+        assertEquals(200, status);
+        int bodies = SkyState.BODIES.length;
+        assertTrue(lines.size() > bodies, String.join("\n", lines));
+        for (int i = 0; i < lines.size(); i++) {
+            assertTrue(lines.get(i).startsWith(i < lines.size() - bodies ? "{\"type\":\"star\"" : "{\"type\":\"body\""),
+                    lines.get(i));
+        }
+
+        for (String line : get("GET", "/sky?" + LONDON + "&visible=true")) {
+            assertTrue(line.endsWith("\"visible\":true}"), line);
+        }
+    }
+
+    @Test
+    void bodiesListsEveryBodyInOrder() throws IOException {
+        start();
+        List<String> lines = get("GET", "/bodies?" + LONDON);
+        assertEquals(200, status);
+        assertEquals(SkyState.BODIES.length, lines.size());
+        for (int b = 0; b < lines.size(); b++) {
+            assertTrue(lines.get(b).contains("\"name\":\"" + SkyState.BODIES[b] + "\""), lines.get(b));
+        }
+    }
+
+    @Test
+    void batchComputesEveryStepExactlyAndBypassesTheCache() throws IOException {
+        start();
+        List<String> lines = get("GET", "/batch?lat=51.5&lon=-0.1&from=" + TIME
+                + "&to=2025-06-22T01:00&step=PT1H&bodies=Sun,Moon");
+        assertEquals(200, status);
+        assertEquals(8, lines.size());
+
+        LocalDateTime last = LocalDateTime.parse("2025-06-22T01:00");
+        SkyState exact = SkyState.computeTiers(StarCatalog.brightStars(), 51.5, -0.1, last, 0);
+        assertTrue(lines.get(6).startsWith("{\"time\":\"" + last + "\",\"type\":\"body\",\"name\":\"Sun\""), lines.get(6));
+        assertTrue(lines.get(6).contains(String.format(Locale.ROOT, "\"alt\":%.4f", exact.getBodyAltitude(0))),
+                lines.get(6));
+        assertEquals(0, server.getCache().size());
+    }
+
+    @Test
+    void batchRejectsMoreThanTheMaximumSteps() throws IOException {
+        start();
+        List<String> lines = get("GET", "/batch?lat=51.5&lon=-0.1&from=2025-01-01T00:00&to=2026-01-01T00:00&step=PT1M");
+        assertEquals(400, status);
+        assertEquals(List.of("{\"error\":\"more than 10000 steps\"}"), lines);
+    }
+
+    @Test
+    void badParametersAreRejectedBeforeTheHeader() throws IOException {
+        start();
+        for (String query : List.of("/sky?lat=north", "/sky?lat=90.5", "/bodies?lon=-180.5", "/sky?lat=NaN",
+                "/bodies?time=yesterday", "/batch?step=PT0S", "/batch?step=soon")) {
+            List<String> lines = get("GET", query);
+            assertEquals(400, status, query);
+            assertTrue(lines.get(0).startsWith("{\"error\":"), query);
+        }
+        get("GET", "/sky?lat=-90&lon=180&time=" + TIME);
+        assertEquals(200, status);
+        get("POST", "/sky");
+        assertEquals(405, status);
+    }
+
+    @Test
+    void statsReportTheCache() throws IOException {
+        start();
+        get("GET", "/bodies?" + LONDON);
+        get("GET", "/bodies?" + LONDON);
+        List<String> lines = get("GET", "/stats");
+        assertEquals(200, status);
+        assertEquals(List.of("{\"hits\":1,\"misses\":1,\"evictions\":0,\"size\":1,\"hitRate\":0.5000}"), lines);
+    }
+
+    @Test
+    void aFailureIsA500() throws IOException {
+        start(new SkyStateCache(StarCatalog.brightStars(), 0.01, Duration.ofMinutes(1), 64) {
+            @Override
+            public SkyState get(double latitude, double longitude, LocalDateTime dateTime, int tiers) {
+                throw new IllegalStateException("broken cache");
+            }
+        });
+        List<String> lines = get("GET", "/bodies?" + LONDON);
+        assertEquals(500, status);
+        assertEquals(List.of("{\"error\":\"internal error\"}"), lines);
+        assertFalse(lines.get(0).contains("broken"));
+    }
+
+    private List<String> get(String method, String pathAndQuery) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) URI.create("http://localhost:" + server.getPort()
+                + pathAndQuery).toURL().openConnection();
+        connection.setRequestMethod(method);
+        try {
+            status = connection.getResponseCode();
+            InputStream body = status < 400 ? connection.getInputStream() : connection.getErrorStream();
+            if (body == null) {
+                return List.of();
+            }
+            try (BufferedReader in = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+                return in.lines().toList();
+            }
+        } finally {
+            connection.disconnect();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package astrolabe.simulation.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class FrameSchedulerTest {
+    private static final long MS = 1_000_000L;
+
+    private static Runnable busy(List<String> log, String name, long nanos) {
+        return () -> {
+            log.add(name);
+            long end = System.nanoTime() + nanos;
+            while (System.nanoTime() < end) {
+                Thread.onSpinWait();
+            }
+        };
+    }
+
+    @Test
+    void runsClassesInPriorityOrder() {
+        FrameScheduler scheduler = new FrameScheduler(100 * MS);
+        List<String> log = new ArrayList<>();
+        scheduler.submit(FrameScheduler.Priority.LABELS, "l", busy(log, "labels", 0));
+        scheduler.submit(FrameScheduler.Priority.FAINT_STARS, "f", busy(log, "faint", 0));
+        scheduler.submit(FrameScheduler.Priority.PLANETS, "p", busy(log, "planets", 0));
+        scheduler.submit(FrameScheduler.Priority.GRID, "g", busy(log, "grid", 0));
+        scheduler.runFrame();
+        assertEquals(List.of("planets", "grid", "faint", "labels"), log);
+        assertEquals(0, scheduler.getBacklog());
+        assertEquals(0, scheduler.getDeferred());
+    }
+
+    @Test
+    void aSpentClassBudgetDefersTheRestOfThatClassOnly() {
+        FrameScheduler scheduler = new FrameScheduler(100 * MS);
+        scheduler.setBudget(FrameScheduler.Priority.FAINT_STARS, 2 * MS);
+        List<String> log = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            scheduler.submit(FrameScheduler.Priority.FAINT_STARS, i, busy(log, "faint" + i, 3 * MS));
+        }
+        scheduler.submit(FrameScheduler.Priority.LABELS, "l", busy(log, "labels", 0));
+
+        scheduler.runFrame();
+        assertEquals(List.of("faint0", "labels"), log);
+        assertEquals(3, scheduler.getBacklog(FrameScheduler.Priority.FAINT_STARS));
+        assertEquals(3, scheduler.getDeferred());
+        assertTrue(scheduler.getSpentNanos(FrameScheduler.Priority.FAINT_STARS) >= 3 * MS);
+    }
+
+    @Test
+    void resubmittingAWaitingKeyReplacesItInPlace() {
+        FrameScheduler scheduler = new FrameScheduler(100 * MS);
+        scheduler.setBudget(FrameScheduler.Priority.GRID, 0);
+        List<String> log = new ArrayList<>();
+        scheduler.submit(FrameScheduler.Priority.PLANETS, "p", busy(log, "planets", 0));
+        scheduler.submit(FrameScheduler.Priority.GRID, "a", busy(log, "a1", 0));
+        scheduler.submit(FrameScheduler.Priority.GRID, "b", busy(log, "b1", 0));
+        scheduler.submit(FrameScheduler.Priority.GRID, "a", busy(log, "a2", 0));
+        scheduler.runFrame();
+        // A zero budget runs nothing of the class once another task has run
+        assertEquals(List.of("planets"), log);
+
+        scheduler.setBudget(FrameScheduler.Priority.GRID, 100 * MS);
+        scheduler.runFrame();
+        assertEquals(List.of("planets", "a2", "b1"), log);
+    }
+
+    @Test
+    void theFirstTaskAlwaysRunsAndAnOverrunIsCounted() {
+        FrameScheduler scheduler = new FrameScheduler(MS);
+        List<String> log = new ArrayList<>();
+        scheduler.submit(FrameScheduler.Priority.PLANETS, "slow", busy(log, "slow", 3 * MS));
+        scheduler.submit(FrameScheduler.Priority.PLANETS, "next", busy(log, "next", 0));
+
+        long elapsed = scheduler.runFrame();
+        assertEquals(List.of("slow"), log);
+        assertTrue(elapsed >= 3 * MS);
+        assertEquals(1, scheduler.getOverruns());
+        assertEquals(1, scheduler.getFrames());
+
+        scheduler.runFrame();
+        assertEquals(List.of("slow", "next"), log);
+        assertEquals(1, scheduler.getOverruns());
+        assertEquals(1, scheduler.getDeferred());
+    }
+
+    @Test
+    void cancelDropsWaitingWork() {
+        FrameScheduler scheduler = new FrameScheduler(100 * MS);
+        List<String> log = new ArrayList<>();
+        scheduler.submit(FrameScheduler.Priority.LABELS, "l", busy(log, "labels", 0));
+        scheduler.cancel(FrameScheduler.Priority.LABELS);
+        scheduler.runFrame();
+        assertTrue(log.isEmpty());
+    }
+}
@@ -0,0 +1,155 @@
+package astrolabe.simulation.core;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class PlateImageServiceTest {
+    private static final String FRONT = "/plate?face=front&lat=51.5&lon=-0.1&time=2025-06-21T22:00&size=256";
+
+    private final List<EphemerisServer> servers = new ArrayList<>();
+    private final List<PlateImageService> services = new ArrayList<>();
+
+    private int start(PlateImageService service) throws IOException {
+        EphemerisServer server = new EphemerisServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0),
+                StarCatalog.brightStars());
+        service.register(server.getHttpServer());
+        server.start();
+        servers.add(server);
+        services.add(service);
+        return server.getPort();
+    }
+
+    @AfterEach
+    void stop() {
+        servers.forEach(EphemerisServer::stop);
+        services.forEach(PlateImageService::close);
+    }
+
+    @Test
+    void aMatchingETagIsNotModified() throws IOException {
+        PlateImageService service = new PlateImageService(StarCatalog.brightStars(), 16);
+        int port = start(service);
+
+        HttpURLConnection first = open(port, FRONT, null);
+        assertEquals(200, first.getResponseCode());
+        assertEquals("image/png", first.getContentType());
+        String etag = first.getHeaderField("ETag");
+        assertNotNull(etag);
+        read(first);
+
+        HttpURLConnection second = open(port, FRONT, etag);
+        assertEquals(304, second.getResponseCode());
+        assertEquals(etag, second.getHeaderField("ETag"));
+        second.disconnect();
+
+        // A minute later is another image
+        HttpURLConnection later = open(port, FRONT.replace("22:00", "22:01"), etag);
+        assertEquals(200, later.getResponseCode());
+        assertNotEquals(etag, later.getHeaderField("ETag"));
+        read(later);
+        assertEquals(2, service.getRenderCount());
+    }
+
+    @Test
+    void anotherCatalogIsAnotherETag() throws IOException {
+        StarCatalog bright = StarCatalog.brightStars();
+        List<Map.Entry<String, double[]>> rows = new ArrayList<>();
+        for (int i = 0; i < bright.size(); i++) {
+            rows.add(Map.entry(bright.getName(i), new double[]{bright.getRa(i), bright.getDec(i),
+                    bright.getMagnitude(i) + (i == 0 ? 0.1 : 0)}));
+        }
+        int original = start(new PlateImageService(bright, 16));
+        int moved = start(new PlateImageService(new StarCatalog(rows), 16));
+
+        assertNotEquals(etag(original, FRONT), etag(moved, FRONT));
+        // The back does not draw the catalog
+        String back = "/plate?face=back&size=256";
+        assertEquals(etag(original, back), etag(moved, back));
+    }
+
+    @Test
+    void concurrentIdenticalRequestsRenderOnce() throws Exception {
+        PlateImageService service = new PlateImageService(StarCatalog.brightStars(), 16);
+        int port = start(service);
+        String large = FRONT.replace("size=256", "size=4096");
+
+        int clients = 8;
+        CountDownLatch go = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        try {
+            List<Future<byte[]>> bodies = new ArrayList<>();
+            for (int i = 0; i < clients; i++) {
+                bodies.add(pool.submit(() -> {
+                    go.await();
+                    HttpURLConnection connection = open(port, large, null);
+                    assertEquals(200, connection.getResponseCode());
+                    return read(connection);
+                }));
+            }
+            go.countDown();
+            byte[] first = bodies.get(0).get();
+            for (Future<byte[]> body : bodies) {
+                assertArrayEquals(first, body.get());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(1, service.getRenderCount());
+        assertEquals(clients - 1, service.getCoalescedCount() + service.getHits());
+        assertTrue(service.getCoalescedCount() > 0);
+    }
+
+    @Test
+    void badParametersAreRejected() throws IOException {
+        int port = start(new PlateImageService(StarCatalog.brightStars(), 16));
+        for (String query : List.of("/plate?face=side", "/plate?format=gif", "/plate?size=8", "/plate?lat=-91")) {
+            HttpURLConnection connection = open(port, query, null);
+            assertEquals(400, connection.getResponseCode(), query);
+            connection.disconnect();
+        }
+    }
+
+    private static String etag(int port, String pathAndQuery) throws IOException {
+        HttpURLConnection connection = open(port, pathAndQuery, null);
+        assertEquals(200, connection.getResponseCode());
+        String etag = connection.getHeaderField("ETag");
+        read(connection);
+        return etag;
+    }
+
+    private static HttpURLConnection open(int port, String pathAndQuery, String ifNoneMatch) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) URI.create("http://localhost:" + port + pathAndQuery)
+                .toURL().openConnection();
+        if (ifNoneMatch != null) {
+            connection.setRequestProperty("If-None-Match", ifNoneMatch);
+        }
+        return connection;
+    }
+
+    private static byte[] read(HttpURLConnection connection) throws IOException {
+        try (InputStream in = connection.getInputStream()) {
+            return in.readAllBytes();
+        } finally {
+            connection.disconnect();
+        }
+    }
+}
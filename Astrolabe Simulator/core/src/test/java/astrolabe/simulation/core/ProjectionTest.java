@@ -0,0 +1,97 @@
+package astrolabe.simulation.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class ProjectionTest {
+    private static final double RADIUS = 280;
+
+    // Point at angular distance rho (degrees) from the pole, at position angle phi around it
+    private static double[] around(double[] p, double rho, double phi) {
+        double[] u = Math.abs(p[2]) < 0.9 ? new double[]{0, 0, 1} : new double[]{1, 0, 0};
+        double[] e1 = normalize(cross(p, u));
+        double[] e2 = cross(p, e1);
+        double r = Math.toRadians(rho);
+        double f = Math.toRadians(phi);
+        double[] v = new double[3];
+        for (int i = 0; i < 3; i++) {
+            v[i] = Math.cos(r) * p[i] + Math.sin(r) * (Math.cos(f) * e1[i] + Math.sin(f) * e2[i]);
+        }
+        return v;
+    }
+
+    private static double[] cross(double[] a, double[] b) {
+        return new double[]{a[1] * b[2] - a[2] * b[1], a[2] * b[0] - a[0] * b[2], a[0] * b[1] - a[1] * b[0]};
+    }
+
+    private static double[] normalize(double[] a) {
+        double n = Math.sqrt(a[0] * a[0] + a[1] * a[1] + a[2] * a[2]);
+        return new double[]{a[0] / n, a[1] / n, a[2] / n};
+    }
+
+    @Test
+    void vectorFormMatchesTheProjection() {
+        for (double alt = 0; alt <= 90; alt += 15) {
+            for (double az = 0; az < 360; az += 40) {
+                double[] v = Projection.horizontalVector(alt, az);
+                double[] xy = Projection.stereographicProjection(alt, az, RADIUS);
+                assertEquals(RADIUS * v[0] / (1 + v[2]), xy[0], 1e-9);
+                assertEquals(RADIUS * v[1] / (1 + v[2]), xy[1], 1e-9);
+            }
+        }
+    }
+
+    @Test
+    void inverseRoundTrips() {
+        double[] xy = Projection.stereographicProjection(37.5, 123.0, RADIUS);
+        double[] altAz = Projection.inverseStereographicProjection(xy[0], xy[1], RADIUS);
+        assertEquals(37.5, altAz[0], 1e-9);
+        assertEquals(123.0, altAz[1], 1e-9);
+    }
+
+    @Test
+    void belowTheHorizonIsNotProjected() {
+        assertTrue(Double.isNaN(Projection.stereographicProjection(-0.5, 10, RADIUS)[0]));
+    }
+
+    @Test
+    void projectedCircleContainsTheProjectedPoints() {
+        double[][] cases = {{60, 30, 20}, {10, 200, 45}, {-30, 90, 70}, {90, 0, 38.5}};
+        for (double[] c : cases) {
+            ProjectedCircle circle = Projection.projectCircle(c[0], c[1], c[2], RADIUS);
+            double[] p = Projection.horizontalVector(c[0], c[1]);
+            for (double phi = 0; phi < 360; phi += 30) {
+                double[] v = around(p, c[2], phi);
+                double x = RADIUS * v[0] / (1 + v[2]);
+                double y = RADIUS * v[1] / (1 + v[2]);
+                assertEquals(circle.getRadius(), Math.hypot(x - circle.getCenterX(), y - circle.getCenterY()),
+                        1e-6 * RADIUS, "pole " + c[0] + "/" + c[1] + " rho " + c[2]);
+            }
+        }
+    }
+
+    @Test
+    void circleThroughTheNadirIsALine() {
+        // A great circle through the nadir: pole on the horizon, 90 degrees radius
+        ProjectedCircle line = Projection.projectCircle(0, 90, 90, RADIUS);
+        assertTrue(line.isLine());
+        double[] p = Projection.horizontalVector(0, 90);
+        for (double phi = 10; phi < 360; phi += 40) {
+            double[] v = around(p, 90, phi);
+            if (1 + v[2] < 1e-6) continue;
+            double x = RADIUS * v[0] / (1 + v[2]);
+            double y = RADIUS * v[1] / (1 + v[2]);
+            assertEquals(line.getDistance(), x * line.getNormalX() + y * line.getNormalY(), 1e-6);
+        }
+    }
+
+    @Test
+    void horizonIsTheLimb() {
+        ProjectedCircle horizon = Projection.projectCircle(90, 0, 90, RADIUS);
+        assertEquals(0, horizon.getCenterX(), 1e-9);
+        assertEquals(0, horizon.getCenterY(), 1e-9);
+        assertEquals(RADIUS, horizon.getRadius(), 1e-9);
+    }
+}
@@ -0,0 +1,89 @@
+package astrolabe.simulation.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class SimulationClockTest {
+    private static final LocalDateTime START = LocalDateTime.of(2025, 3, 20, 12, 0);
+    private static final long STEP = 10_000_000L; // 10 ms
+
+    private static SimulationClock clock(int maxSteps) {
+        SimulationClock clock = new SimulationClock(START, Duration.ofNanos(STEP), maxSteps);
+        clock.setRate(60);
+        clock.start();
+        clock.advance(0);
+        return clock;
+    }
+
+    @Test
+    void simulatedTimeDoesNotDependOnFrameTiming() {
+        SimulationClock steady = clock(100);
+        SimulationClock jittery = clock(100);
+        Random random = new Random(3);
+        long now = 0;
+        while (now < 2_000_000_000L) {
+            now += 16_666_667L;
+            steady.advance(now);
+        }
+        long jitterNow = 0;
+        while (jitterNow < now) {
+            jitterNow = Math.min(now, jitterNow + 1_000_000L + random.nextInt(40_000_000));
+            jittery.advance(jitterNow);
+        }
+        assertEquals(steady.getCurrentTime(), jittery.getCurrentTime());
+        // Two seconds at 60x, in whole 10 ms steps
+        assertEquals(START.plusSeconds(120), steady.getCurrentTime());
+    }
+
+    @Test
+    void leftoverIsAFractionOfAStep() {
+        SimulationClock clock = clock(10);
+        assertEquals(2, clock.advance(25_000_000L));
+        assertEquals(0.5, clock.getAlpha(), 1e-12);
+        assertEquals(START.plusNanos(600_000_000L), clock.getPreviousTime());
+        assertEquals(START.plusNanos(1_200_000_000L), clock.getCurrentTime());
+        // Halfway between the last two steps, never past the current one
+        assertEquals(START.plusNanos(900_000_000L), clock.getRenderTime());
+    }
+
+    @Test
+    void aStallCatchesUpOnlyTheMaximumSteps() {
+        SimulationClock clock = clock(4);
+        assertEquals(4, clock.advance(1_000_000_000L));
+        assertEquals(96, clock.getDroppedSteps());
+        assertEquals(START.plusNanos(4 * 600_000_000L), clock.getCurrentTime());
+        assertTrue(clock.getAlpha() < 1);
+        assertEquals(1, clock.advance(1_010_000_000L));
+    }
+
+    @Test
+    void pauseStopsTimeAndResumeSkipsThePause() {
+        SimulationClock clock = clock(10);
+        clock.advance(50_000_000L);
+        LocalDateTime paused = clock.getCurrentTime();
+        clock.pause();
+        assertEquals(0, clock.advance(5_000_000_000L));
+
+        clock.start();
+        assertEquals(0, clock.advance(6_000_000_000L));
+        assertEquals(paused, clock.getCurrentTime());
+        assertEquals(1, clock.advance(6_010_000_000L));
+    }
+
+    @Test
+    void setTimeJumpsWithoutInterpolatingAcross() {
+        SimulationClock clock = clock(10);
+        clock.advance(15_000_000L);
+        LocalDateTime picked = START.plusDays(3);
+        clock.setTime(picked);
+        assertEquals(picked, clock.getRenderTime());
+        clock.setRate(-60);
+        clock.advance(25_000_000L);
+        assertEquals(picked.minusNanos(600_000_000L), clock.getCurrentTime());
+    }
+}
@@ -0,0 +1,66 @@
+package astrolabe.simulation.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class SkyScrubBufferTest {
+    private static final LocalDateTime ORIGIN = LocalDateTime.of(2025, 6, 21, 0, 0);
+
+    private static StarCatalog catalog(int stars) {
+        List<Map.Entry<String, double[]>> rows = new ArrayList<>();
+        for (int i = 0; i < stars; i++) {
+            rows.add(Map.entry("s" + i, new double[]{i % 24, (i % 170) - 85, 1 + (i % 7)}));
+        }
+        return new StarCatalog(rows);
+    }
+
+    @Test
+    void capacityFollowsTheBudgetAndTheTiers() {
+        StarCatalog catalog = catalog(20_000);
+        SkyScrubBuffer buffer = new SkyScrubBuffer(catalog, 100 * SkyScrubBuffer.stateBytes(catalog.size()), 1);
+        try {
+            buffer.setGrid(ORIGIN, Duration.ofDays(1));
+            buffer.get(51.5, 0, ORIGIN, catalog.getTierCount());
+            assertEquals(100, buffer.getCapacity());
+
+            // Fewer tiers are smaller states, up to the fixed maximum
+            buffer.get(51.5, 0, ORIGIN, 1);
+            assertEquals(192, buffer.getCapacity());
+
+            SkyScrubBuffer tight = new SkyScrubBuffer(catalog, 1, 1);
+            assertEquals(8, tight.getCapacity());
+            tight.shutdown();
+        } finally {
+            buffer.shutdown();
+        }
+    }
+
+    @Test
+    void prefetchedStepsAreLookups() throws InterruptedException {
+        StarCatalog catalog = StarCatalog.brightStars();
+        SkyScrubBuffer buffer = new SkyScrubBuffer(catalog, 1 << 20, 2);
+        try {
+            buffer.setGrid(ORIGIN, Duration.ofHours(1));
+            assertNull(buffer.get(51.5, 0, ORIGIN, 1));
+            long deadline = System.nanoTime() + 10_000_000_000L;
+            while (buffer.getFilled() < buffer.getCapacity() && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            SkyState state = buffer.get(51.5, 0, ORIGIN.plusHours(5), 1);
+            assertNotNull(state);
+            assertEquals(ORIGIN.plusHours(5), state.getDateTime());
+            // Off the grid is never served from the ring
+            assertNull(buffer.get(51.5, 0, ORIGIN.plusMinutes(30), 1));
+        } finally {
+            buffer.shutdown();
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package astrolabe.simulation.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class SkyStateCacheTest {
+    private static final StarCatalog CATALOG = StarCatalog.brightStars();
+    private static final LocalDateTime TIME = LocalDateTime.of(2025, 6, 21, 22, 0, 0);
+
+    // Every 7 degrees of declination in each tier
+    private static StarCatalog sky() {
+        List<Map.Entry<String, double[]>> stars = new ArrayList<>();
+        double[] magnitudes = {1, 3, 5, 6, 8};
+        for (int k = 0; k < magnitudes.length; k++) {
+            for (double dec = -87; dec <= 87; dec += 7) {
+                stars.add(Map.entry(k + "/" + dec, new double[]{(dec + 90) / 7.5, dec, magnitudes[k]}));
+            }
+        }
+        return new StarCatalog(stars);
+    }
+
+    @Test
+    void nearbyRequestsShareAQuantizedKey() {
+        SkyStateCache cache = new SkyStateCache(CATALOG, 0.01, Duration.ofMinutes(1), 16);
+        SkyState first = cache.get(51.5, -0.1, TIME, 1);
+        assertSame(first, cache.get(51.5041, -0.1049, TIME.plusSeconds(59), 1));
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+
+        assertNotSame(first, cache.get(51.51, -0.1, TIME, 1));
+        assertNotSame(first, cache.get(51.5, -0.1, TIME.plusMinutes(1), 1));
+        assertNotSame(first, cache.get(51.5, -0.1, TIME, 2));
+        assertEquals(4, cache.size());
+    }
+
+    @Test
+    void aHitIsWhatAMissComputesAtTheQuantizedValues() {
+        SkyStateCache cache = new SkyStateCache(CATALOG, 0.5, Duration.ofMinutes(10), 16);
+        SkyState cached = cache.get(51.3, -0.2, TIME.plusMinutes(7), 2);
+        SkyState exact = SkyState.computeTiers(CATALOG, 51.5, 0, TIME, 2);
+        assertEquals(TIME, cached.getDateTime());
+        assertEquals(51.5, cached.getLatitude(), 1e-12);
+        for (int i = 0; i < exact.getStarCount(); i++) {
+            assertEquals(exact.getStarX(i), cached.getStarX(i), 0);
+            assertEquals(exact.getStarAltitude(i), cached.getStarAltitude(i), 0);
+        }
+    }
+
+    @Test
+    void magnitudeLookupUsesTheTiersBrighterThanIt() {
+        SkyStateCache cache = new SkyStateCache(CATALOG, 0.01, Duration.ofMinutes(1), 16);
+        SkyState state = cache.getForMagnitude(51.5, -0.1, TIME, 3.0);
+        assertEquals(CATALOG.tiersBrighterThan(3.0), state.getTierCount());
+        assertSame(state, cache.get(51.5, -0.1, TIME, state.getTierCount()));
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsed() {
+        SkyStateCache cache = new SkyStateCache(CATALOG, 0.01, Duration.ofMinutes(1), 2);
+        SkyState a = cache.get(10, 0, TIME, 0);
+        cache.get(20, 0, TIME, 0);
+        cache.get(10, 0, TIME, 0);
+        cache.get(30, 0, TIME, 0);
+        assertEquals(1, cache.getEvictions());
+        assertSame(a, cache.get(10, 0, TIME, 0));
+        assertTrue(cache.getHitRate() > 0.3);
+    }
+
+    @Test
+    void onlyTheVisibleBandIsTransformed() {
+        StarCatalog catalog = sky();
+        int tiers = catalog.getTierCount();
+        int[][] all = new int[tiers][];
+        for (int k = 0; k < tiers; k++) {
+            all[k] = new int[]{catalog.getTierStart(k), catalog.getTierStart(k + 1), 0, 0};
+        }
+        SkyState full = SkyState.computeTiers(catalog, 51.5, -0.1, TIME, tiers, all);
+        SkyState culled = SkyState.computeTiers(catalog, 51.5, -0.1, TIME, tiers);
+
+        int[][] bands = catalog.visibleBands(51.5, StarCatalog.bandMargin(0.25));
+        int skipped = 0;
+        for (int k = 0; k < tiers; k++) {
+            for (int i = catalog.getTierStart(k); i < catalog.getTierStart(k + 1); i++) {
+                if (i < bands[k][0] || i >= bands[k][1]) {
+                    // Never rises: not computed, and the full transform agrees it is down
+                    assertTrue(Double.isNaN(culled.getStarAltitude(i)));
+                    assertTrue(full.getStarAltitude(i) < 0);
+                    skipped++;
+                } else {
+                    assertEquals(full.getStarAltitude(i), culled.getStarAltitude(i), 1e-6);
+                    assertEquals(full.getStarX(i), culled.getStarX(i), 1e-6);
+                    assertEquals(full.isStarVisible(i), culled.isStarVisible(i));
+                    if (i >= bands[k][2] && i < bands[k][3]) {
+                        assertTrue(culled.isStarVisible(i), "circumpolar " + catalog.getName(i));
+                    }
+                }
+            }
+        }
+        assertTrue(skipped > 0);
+    }
+}
@@ -0,0 +1,153 @@
+package astrolabe.simulation.core;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SkyStreamServerTest {
+    private SkyStreamServer server;
+    private Socket socket;
+    private DataInputStream in;
+    private DataOutputStream out;
+
+    @BeforeEach
+    void connect() throws IOException {
+        server = new SkyStreamServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        server.start();
+        socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort());
+        socket.setSoTimeout(5000);
+        in = new DataInputStream(socket.getInputStream());
+        out = new DataOutputStream(socket.getOutputStream());
+
+        // The sample handshake of RFC 6455
+        out.write(("GET /sky HTTP/1.1\r\nHost: localhost\r\nUpgrade: websocket\r\nConnection: Upgrade\r\n"
+                + "Sec-WebSocket-Key: dGhlIHNhbXBsZSBub25jZQ==\r\nSec-WebSocket-Version: 13\r\n\r\n")
+                .getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+        String response = readHeaders(in);
+        assertTrue(response.startsWith("HTTP/1.1 101"), response);
+        assertTrue(response.contains("Sec-WebSocket-Accept: s3pPLMBiTxaQ9kYGzzhZRbK+xOo="), response);
+    }
+
+    @AfterEach
+    void close() throws IOException {
+        socket.close();
+        server.stop();
+    }
+
+    @Test
+    void pushesAKeyFrameAsOneBinaryFrame() throws IOException {
+        SkyState state = SkyState.computeTiers(StarCatalog.brightStars(), 51.5, -0.1,
+                LocalDateTime.of(2025, 1, 15, 22, 0), 1);
+        server.publish(state, 6, 0);
+
+        int[] header = new int[2];
+        byte[] payload = readFrame(header);
+        assertEquals(0x82, header[0]); // FIN, binary
+        DataInputStream frame = new DataInputStream(new ByteArrayInputStream(payload));
+        assertEquals(0, frame.readByte()); // key frame
+        assertEquals(1, frame.readInt());
+        assertEquals(0, frame.readInt());
+        assertEquals(state.getDateTime().toEpochSecond(ZoneOffset.UTC), frame.readLong());
+        assertEquals(51.5f, frame.readFloat());
+    }
+
+    @Test
+    void answersAMaskedPingWithAnUnmaskedPong() throws IOException {
+        byte[] body = "sky?".getBytes(StandardCharsets.US_ASCII);
+        writeMasked(0x9, body.length, body);
+
+        int[] header = new int[2];
+        assertArrayEquals(body, readFrame(header));
+        assertEquals(0x8A, header[0]);
+        assertEquals(0, header[1] & 0x80);
+    }
+
+    @Test
+    void echoesClose() throws IOException {
+        writeMasked(0x8, 2, new byte[]{0x03, (byte) 0xE8});
+        int[] header = new int[2];
+        assertArrayEquals(new byte[]{0x03, (byte) 0xE8}, readFrame(header));
+        assertEquals(0x88, header[0]);
+        assertEquals(-1, in.read());
+    }
+
+    @Test
+    void closesWith1009OnAnOversizedOrNegativeLength() throws IOException {
+        // 64-bit length with the top bit set: negative as a Java long
+        out.write(0x81);
+        out.write(0x80 | 127);
+        out.writeLong(0x8000_0000_0000_0010L);
+        out.flush();
+
+        int[] header = new int[2];
+        byte[] payload = readFrame(header);
+        assertEquals(0x88, header[0]);
+        assertEquals(1009, ((payload[0] & 0xFF) << 8) | (payload[1] & 0xFF));
+        assertEquals(-1, in.read());
+    }
+
+    @Test
+    void closesWith1009AboveTheClientFrameLimit() throws IOException {
+        out.write(0x82);
+        out.write(0x80 | 126);
+        out.writeShort(5000);
+        out.flush();
+
+        int[] header = new int[2];
+        byte[] payload = readFrame(header);
+        assertEquals(0x88, header[0]);
+        assertEquals(1009, ((payload[0] & 0xFF) << 8) | (payload[1] & 0xFF));
+    }
+
+    private void writeMasked(int opcode, int length, byte[] body) throws IOException {
+        byte[] mask = {0x12, 0x34, 0x56, 0x78};
+        out.write(0x80 | opcode);
+        out.write(0x80 | length);
+        out.write(mask);
+        for (int i = 0; i < body.length; i++) {
+            out.write(body[i] ^ mask[i & 3]);
+        }
+        out.flush();
+    }
+
+    // Payload of the next server frame; header receives the first two bytes
+    private byte[] readFrame(int[] header) throws IOException {
+        header[0] = in.readUnsignedByte();
+        header[1] = in.readUnsignedByte();
+        long length = header[1] & 0x7F;
+        if (length == 126) {
+            length = in.readUnsignedShort();
+        } else if (length == 127) {
+            length = in.readLong();
+        }
+        byte[] payload = new byte[(int) length];
+        in.readFully(payload);
+        return payload;
+    }
+
+    private static String readHeaders(InputStream in) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        while (!sb.toString().endsWith("\r\n\r\n")) {
+            int c = in.read();
+            if (c == -1) break;
+            sb.append((char) c);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,83 @@
+package astrolabe.simulation.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.Test;
+
+class SkyTrackTest {
+    private static final StarCatalog CATALOG = StarCatalog.brightStars();
+    private static final LocalDateTime START = LocalDateTime.of(2025, 6, 21, 18, 0);
+    private static final double TOLERANCE = 1e-4;
+
+    @Test
+    void hermiteReproducesAQuadraticOnEvenKeys() {
+        for (double t = 1; t <= 2; t += 0.125) {
+            assertEquals(t * t, SkyTrack.hermite(0, 0, 1, 1, 2, 4, 3, 9, t, false), 1e-12);
+        }
+    }
+
+    @Test
+    void hermiteFallsBackToTheChordAtTheEnds() {
+        // No outer keys: tangents are the chord, so the curve is the straight line
+        assertEquals(5, SkyTrack.hermite(Double.NaN, Double.NaN, 0, 0, 10, 10, Double.NaN, Double.NaN, 5, false), 1e-12);
+        // A key below the horizon snaps to the nearer end instead of interpolating
+        assertEquals(3, SkyTrack.hermite(0, 1, 1, 3, 2, Double.NaN, 3, 1, 1.4, false), 0);
+    }
+
+    @Test
+    void anglesInterpolateTheShortWayRound() {
+        double mid = SkyTrack.hermite(Double.NaN, Double.NaN, 0, 350, 1, 10, Double.NaN, Double.NaN, 0.5, true);
+        assertEquals(0, Math.min(mid, 360 - mid), 1e-9);
+        assertEquals(355, SkyTrack.hermite(Double.NaN, Double.NaN, 0, 350, 1, 10, Double.NaN, Double.NaN, 0.25, true),
+                1e-9);
+    }
+
+    @Test
+    void samplesStayWithinTheToleranceOfTheExactSky() {
+        SkyTrack track = new SkyTrack(CATALOG, 51.5, -0.1, CATALOG.getTierCount(), TOLERANCE,
+                Duration.ofMinutes(1), Duration.ofHours(1)).cover(START, START.plusHours(12));
+        assertTrue(track.covers(START.plusHours(6)));
+        assertTrue(track.getKeyCount() > 12);
+
+        double worstStar = 0;
+        double worstHorizon = 0;
+        double worstBody = 0;
+        for (long s = 0; s <= 12 * 3600; s += 317) {
+            LocalDateTime time = START.plusSeconds(s);
+            SkyState sampled = track.sample(time);
+            SkyState exact = SkyState.computeTiers(CATALOG, 51.5, -0.1, time, CATALOG.getTierCount());
+            for (int i = 0; i < exact.getStarCount(); i++) {
+                if (!exact.isStarVisible(i) || !sampled.isStarVisible(i)) continue;
+                if (exact.getStarAltitude(i) < 1) {
+                    // Rising or setting: interpolated in alt/az through the refraction bend
+                    worstHorizon = Math.max(worstHorizon, Math.abs(sampled.getStarAltitude(i) - exact.getStarAltitude(i)));
+                    continue;
+                }
+                worstStar = Math.max(worstStar, Math.hypot(sampled.getStarX(i) - exact.getStarX(i),
+                        sampled.getStarY(i) - exact.getStarY(i)));
+            }
+            for (int b = 0; b < exact.getBodyCount(); b++) {
+                if (!exact.isBodyVisible(b) || !sampled.isBodyVisible(b)) continue;
+                worstBody = Math.max(worstBody, Math.hypot(sampled.getBodyX(b) - exact.getBodyX(b),
+                        sampled.getBodyY(b) - exact.getBodyY(b)));
+            }
+        }
+        // The chord test bounds the midpoint error; the cubic between keys stays within a few of it
+        assertTrue(worstStar < 4 * TOLERANCE, "star error " + worstStar);
+        assertTrue(worstBody < 4 * TOLERANCE, "body error " + worstBody);
+        assertTrue(worstHorizon < 0.1, "altitude error near the horizon " + worstHorizon);
+    }
+
+    @Test
+    void coverReusesTheKeysStillInTheWindow() {
+        SkyTrack first = new SkyTrack(CATALOG, 51.5, -0.1, 1, TOLERANCE,
+                Duration.ofMinutes(1), Duration.ofHours(1)).cover(START, START.plusHours(2));
+        SkyTrack moved = first.cover(START.plusHours(1), START.plusHours(3));
+        assertTrue(moved.covers(START.plusHours(1), START.plusHours(3)));
+        assertEquals(first.sample(START.plusMinutes(90)).getStarX(0), moved.sample(START.plusMinutes(90)).getStarX(0),
+                1e-6);
+    }
+}
@@ -0,0 +1,65 @@
+package astrolabe.simulation.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class StarCatalogTest {
+    @TempDir
+    Path dir;
+
+    private StarCatalog load(String... lines) throws IOException {
+        Path file = dir.resolve("catalog.csv");
+        Files.write(file, java.util.List.of(lines));
+        return StarCatalog.load(file);
+    }
+
+    @Test
+    void keepsRowsWithDuplicateNames() throws IOException {
+        StarCatalog catalog = load("# name,ra,dec,mag", "HD 1,1.0,10.0,5.0", "HD 1,2.0,20.0,6.0", "", "Vega,18.6,38.8,0.0");
+        assertEquals(3, catalog.size());
+        assertEquals(catalog.size(), catalog.getTierStart(catalog.getTierCount()));
+    }
+
+    @Test
+    void rejectsBadRowsWithTheirLineNumber() {
+        IOException blank = assertThrows(IOException.class, () -> load("Vega,18.6,38.8,0.0", " ,1.0,2.0,3.0"));
+        assertTrue(blank.getMessage().contains("line 2"), blank.getMessage());
+        assertThrows(IOException.class, () -> load("Vega,18.6,north,0.0"));
+        assertThrows(IOException.class, () -> load("Vega,25.0,38.8,0.0"));
+        assertThrows(IOException.class, () -> load("Vega,18.6,38.8"));
+    }
+
+    @Test
+    void ordersByTierThenDeclination() throws IOException {
+        StarCatalog catalog = load("a,1,50,5.0", "b,1,-20,1.0", "c,1,10,5.0", "d,1,-60,1.0");
+        assertEquals(2, catalog.getTierStart(1));
+        assertEquals("d", catalog.getName(0));
+        assertEquals("b", catalog.getName(1));
+        assertEquals("c", catalog.getName(2));
+        assertEquals("a", catalog.getName(3));
+    }
+
+    @Test
+    void bandsSplitNeverRisingVisibleAndCircumpolarRows() throws IOException {
+        // Latitude 50 N with a 2 degree margin: below -42 never rises, above 42 never sets
+        StarCatalog catalog = load("s,1,-70,1.0", "m,1,-10,1.0", "e,1,20,1.0", "n,1,60,1.0", "p,1,89,1.0");
+        int[] band = catalog.visibleBands(50, 2)[0];
+        assertEquals(1, band[0]);
+        assertEquals(5, band[1]);
+        assertEquals(3, band[2]);
+        assertEquals(5, band[3]);
+
+        int[] south = catalog.visibleBands(-50, 2)[0];
+        assertEquals(0, south[0]);
+        assertEquals(3, south[1]);
+        assertEquals(0, south[2]);
+        assertEquals(1, south[3]);
+    }
+}
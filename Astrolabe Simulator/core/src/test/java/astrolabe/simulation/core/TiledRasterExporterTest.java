@@ -0,0 +1,109 @@
+package astrolabe.simulation.core;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.function.Consumer;
+import java.util.zip.Adler32;
+import java.util.zip.Inflater;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class TiledRasterExporterTest {
+    // Axis-aligned on whole pixels at 4 px per unit, so strips rasterise exactly like one image
+    private static final Consumer<PlateRenderer> FACE = r -> {
+        r.polygon(new double[]{-250, -200, 150, -200, 150, 60, -250, 60}, Pen.rgb(200, 180, 120).width(2).fill(20, 30, 60));
+        r.polygon(new double[]{-40, 30, 210, 30, 210, 260, -40, 260}, Pen.rgb(90, 140, 220).width(1).fill(150, 40, 40));
+        r.line(-300, 0, 300, 0, Pen.rgb(255, 255, 255).width(1));
+    };
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void combinedAdlerMatchesTheWholeChecksum() {
+        Random random = new Random(7);
+        for (int length : new int[]{0, 1, 5552, 65521, 200_000}) {
+            byte[] first = new byte[random.nextInt(70_000)];
+            byte[] second = new byte[length];
+            random.nextBytes(first);
+            random.nextBytes(second);
+
+            Adler32 whole = new Adler32();
+            whole.update(first);
+            whole.update(second);
+            assertEquals(whole.getValue(),
+                    TiledRasterExporter.combineAdler(checksum(first), checksum(second), second.length), "length " + length);
+        }
+    }
+
+    @Test
+    void stripsStreamIntoOneValidPng() throws Exception {
+        // Wide enough for more than one strip, so the writer really combines checksums
+        int size = 2400;
+        Path file = dir.resolve("plate.png");
+        TiledRasterExporter exporter = new TiledRasterExporter(size, 600, FACE);
+        exporter.write(file);
+
+        // The zlib inflater verifies the trailing Adler-32 of the concatenated strips
+        byte[] idat = idat(Files.readAllBytes(file));
+        Inflater inflater = new Inflater();
+        inflater.setInput(idat);
+        byte[] raw = new byte[(size * 3 + 1) * size];
+        int n = 0;
+        while (!inflater.finished()) {
+            n += inflater.inflate(raw, n, raw.length - n);
+            if (n == raw.length && !inflater.finished()) {
+                assertEquals(0, inflater.inflate(new byte[1]));
+                break;
+            }
+        }
+        assertTrue(inflater.finished());
+        assertEquals(raw.length, n);
+        inflater.end();
+
+        BufferedImage decoded = ImageIO.read(file.toFile());
+        assertEquals(size, decoded.getWidth());
+        BufferedImage whole = Java2DPlateRenderer.render(FACE, size, 600);
+        int[] expected = whole.getRGB(0, 0, size, size, null, 0, size);
+        int[] actual = decoded.getRGB(0, 0, size, size, null, 0, size);
+        assertArrayEquals(expected, actual);
+
+        double[] difference = exporter.compareWithReference();
+        // The preview is a box filter, the reference a render at preview scale
+        assertTrue(difference[0] < 1, "mean difference " + difference[0]);
+    }
+
+    private static long checksum(byte[] data) {
+        Adler32 adler = new Adler32();
+        adler.update(data);
+        return adler.getValue();
+    }
+
+    // Concatenated IDAT payloads of a PNG file
+    private static byte[] idat(byte[] png) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(png, 8, png.length - 8));
+        ByteArrayOutputStream data = new ByteArrayOutputStream();
+        while (in.available() > 0) {
+            int length = in.readInt();
+            byte[] type = in.readNBytes(4);
+            byte[] payload = in.readNBytes(length);
+            in.readInt();
+            if (new String(type, StandardCharsets.US_ASCII).equals("IDAT")) {
+                data.write(payload);
+            }
+        }
+        return data.toByteArray();
+    }
+}
@@ -0,0 +1,67 @@
+package astrolabe.simulation.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.Test;
+
+class TrackingCadenceTest {
+    private static final StarCatalog CATALOG = StarCatalog.brightStars();
+    private static final LocalDateTime START = LocalDateTime.of(2025, 6, 21, 22, 0);
+    private static final double RADIUS = 1000;
+
+    @Test
+    void starIntervalIsTheSiderealRateAtTheRim() {
+        // A point on the rim turns once per sidereal day
+        assertEquals(86164.0905 / (2 * Math.PI * RADIUS), TrackingCadence.starInterval(RADIUS, 1), 1e-12);
+        assertEquals(2 * TrackingCadence.starInterval(RADIUS, 1), TrackingCadence.starInterval(RADIUS / 2, 1), 1e-12);
+        assertEquals(3 * TrackingCadence.starInterval(RADIUS, 1), TrackingCadence.starInterval(RADIUS, 3), 1e-12);
+    }
+
+    @Test
+    void noStarMovesFurtherThanThePixelsInTheStarInterval() {
+        double pixels = 5;
+        long nanos = Math.round(TrackingCadence.starInterval(RADIUS, pixels) * 1e9);
+        for (double latitude : new double[]{-60, 0, 35, 51.5, 80}) {
+            for (int hour = 0; hour < 24; hour += 3) {
+                LocalDateTime time = START.plusHours(hour);
+                SkyState now = SkyState.computeTiers(CATALOG, latitude, 0, time, CATALOG.getTierCount());
+                SkyState later = SkyState.computeTiers(CATALOG, latitude, 0, time.plusNanos(nanos),
+                        CATALOG.getTierCount());
+                for (int i = 0; i < now.getStarCount(); i++) {
+                    // Refraction bends the last few degrees above the horizon; stars that
+                    // never rise here have no position
+                    if (!(now.getStarAltitude(i) >= 5 && later.getStarAltitude(i) >= 5)) continue;
+                    double moved = Math.hypot(later.getStarX(i) - now.getStarX(i), later.getStarY(i) - now.getStarY(i));
+                    assertTrue(moved * RADIUS <= pixels * 1.001, latitude + " " + time + " " + moved * RADIUS);
+                }
+            }
+        }
+    }
+
+    @Test
+    void intervalNeverExceedsTheStarInterval() {
+        double star = TrackingCadence.starInterval(RADIUS, 1);
+        for (int day = 0; day < 365; day += 13) {
+            LocalDateTime time = START.plusDays(day).plusHours(day % 24);
+            double interval = TrackingCadence.interval(51.5, -0.1, time, RADIUS, 1);
+            assertTrue(interval > 0 && interval <= star, time + " " + interval);
+            for (int b = 2; b < SkyState.BODIES.length; b++) {
+                assertTrue(interval <= TrackingCadence.bodyInterval(b, 51.5, -0.1, time, RADIUS, 1));
+            }
+        }
+    }
+
+    @Test
+    void aBodyBelowTheHorizonSetsNoInterval() {
+        for (int hour = 0; hour < 24; hour++) {
+            LocalDateTime time = START.plusHours(hour);
+            if (Double.isNaN(SkyState.projectBody(4, 51.5, -0.1, time)[5])) {
+                assertEquals(Double.POSITIVE_INFINITY, TrackingCadence.bodyInterval(4, 51.5, -0.1, time, RADIUS, 1));
+                return;
+            }
+        }
+        throw new AssertionError("Mars never set");
+    }
+}
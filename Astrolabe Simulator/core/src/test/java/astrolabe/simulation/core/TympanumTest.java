@@ -0,0 +1,81 @@
+package astrolabe.simulation.core;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class TympanumTest {
+    private static final double RADIUS = 280;
+    private static final double EPS = AstroMath.calculateObliquity(0);
+    private static final double[] LATITUDES = {51.5, 20, -33.9};
+
+    @Test
+    void almucantarsAreCentredOnTheZenith() {
+        Tympanum plate = new Tympanum(51.5, RADIUS, RADIUS);
+        assertArrayEquals(new double[]{0, 0, RADIUS, 0, 360}, plate.getHorizon(), 1e-9);
+
+        List<double[]> almucantars = plate.getAlmucantars();
+        assertEquals(8, almucantars.size());
+        for (int i = 0; i < almucantars.size(); i++) {
+            double altitude = 10 * (i + 1);
+            double[] arc = almucantars.get(i);
+            assertEquals(0, Math.hypot(arc[0], arc[1]), 1e-9);
+            assertEquals(RADIUS * Math.tan(Math.toRadians(90 - altitude) / 2), arc[2], 1e-9);
+            assertEquals(360, arc[4], 1e-9);
+        }
+    }
+
+    @Test
+    void theFirstAndLastUnequalHoursLieOnTheHorizon() {
+        for (double latitude : LATITUDES) {
+            Tympanum plate = new Tympanum(latitude, RADIUS, RADIUS);
+            for (double dec : new double[]{-EPS, 0, EPS}) {
+                assertEquals(RADIUS, Math.hypot(plate.unequalHourPoint(0, dec)[0], plate.unequalHourPoint(0, dec)[1]),
+                        1e-6);
+                assertEquals(RADIUS, Math.hypot(plate.unequalHourPoint(12, dec)[0], plate.unequalHourPoint(12, dec)[1]),
+                        1e-6);
+            }
+        }
+    }
+
+    @Test
+    void theSixthHourIsTheMeridian() {
+        double[] south = Projection.stereographicProjection(45, 180, 1);
+        for (double latitude : LATITUDES) {
+            Tympanum plate = new Tympanum(latitude, RADIUS, RADIUS);
+            for (double dec : new double[]{-EPS, 0, EPS}) {
+                double[] noon = plate.unequalHourPoint(6, dec);
+                assertEquals(0, noon[0] * south[1] - noon[1] * south[0], 1e-6);
+            }
+            // Hence the noon line is straight and passes through the zenith
+            double[] line = plate.getHourLines().get(5);
+            assertEquals(4, line.length);
+            assertEquals(0, line[0] * line[3] - line[1] * line[2], 1e-6);
+        }
+    }
+
+    @Test
+    void hourArcsPassThroughTheirHourPoints() {
+        for (double latitude : LATITUDES) {
+            Tympanum plate = new Tympanum(latitude, RADIUS, RADIUS);
+            List<double[]> lines = plate.getHourLines();
+            assertEquals(11, lines.size());
+            for (int hour = 1; hour < 12; hour++) {
+                double[] line = lines.get(hour - 1);
+                for (double dec : new double[]{-EPS, 0, EPS}) {
+                    double[] point = plate.unequalHourPoint(hour, dec);
+                    assertNotNull(point);
+                    if (line.length == 4) {
+                        double cross = (line[2] - line[0]) * (point[1] - line[1]) - (line[3] - line[1]) * (point[0] - line[0]);
+                        assertEquals(0, cross / Math.hypot(line[2] - line[0], line[3] - line[1]), 1e-6);
+                    } else {
+                        assertEquals(line[2], Math.hypot(point[0] - line[0], point[1] - line[1]), 1e-6);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package astrolabe.simulation.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.awt.image.BufferedImage;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.xml.parsers.DocumentBuilderFactory;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+class VectorRendererTest {
+    private static final Pen GRID = Pen.rgb(80, 80, 80, 0.5).width(0.5).dash(2, 3);
+    private static final Pen FILLED = Pen.rgb(255, 255, 255).fill(200, 200, 100);
+
+    private static void paint(PlateRenderer r) {
+        r.circle(0, 0, 100, GRID);
+        r.arc(10, -20, 50, 0, 270, FILLED);
+        r.line(-5, -5, 5, 5, Pen.rgb(255, 0, 0));
+        r.polygon(new double[]{0, 0, 10, 0, 10, 10}, FILLED);
+        r.text(12.5, 7, "Sirius <A&B>", "star-label", 0);
+    }
+
+    @Test
+    void svgIsWellFormedAndCarriesThePens() throws Exception {
+        StringWriter out = new StringWriter();
+        try (SvgPlateRenderer svg = new SvgPlateRenderer(out, 600)) {
+            paint(svg);
+        }
+
+        Document doc = DocumentBuilderFactory.newInstance().newDocumentBuilder()
+                .parse(new ByteArrayInputStream(out.toString().getBytes(StandardCharsets.UTF_8)));
+        Element root = doc.getDocumentElement();
+        assertEquals("svg", root.getTagName());
+        assertEquals("-300 -300 600 600", root.getAttribute("viewBox"));
+
+        Element circle = (Element) doc.getElementsByTagName("circle").item(0);
+        assertEquals("100", circle.getAttribute("r"));
+        assertEquals("#505050", circle.getAttribute("stroke"));
+        assertEquals("0.50", circle.getAttribute("stroke-opacity"));
+        assertEquals("2,3", circle.getAttribute("stroke-dasharray"));
+        assertEquals("none", circle.getAttribute("fill"));
+
+        // 270 degrees takes the large arc flag
+        String path = ((Element) doc.getElementsByTagName("path").item(0)).getAttribute("d");
+        assertTrue(path.contains("A50 50 0 1 1"), path);
+        assertEquals("#c8c864", ((Element) doc.getElementsByTagName("polygon").item(0)).getAttribute("fill"));
+        assertEquals("Sirius <A&B>", doc.getElementsByTagName("text").item(0).getTextContent());
+    }
+
+    @Test
+    void pdfCrossReferencesPointAtTheirObjects() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (PdfPlateRenderer pdf = new PdfPlateRenderer(bytes, 600)) {
+            paint(pdf);
+        }
+        String text = bytes.toString(StandardCharsets.ISO_8859_1);
+        assertTrue(text.startsWith("%PDF-1.4\n"));
+        assertTrue(text.endsWith("%%EOF\n"));
+
+        Matcher startxref = Pattern.compile("startxref\n(\\d+)\n").matcher(text);
+        assertTrue(startxref.find());
+        int xref = Integer.parseInt(startxref.group(1));
+        assertTrue(text.startsWith("xref\n0 8\n", xref));
+
+        Matcher entries = Pattern.compile("(\\d{10}) 00000 n \n").matcher(text.substring(xref));
+        int object = 1;
+        while (entries.find()) {
+            int offset = Integer.parseInt(entries.group(1));
+            assertTrue(text.startsWith(object + " 0 obj\n", offset), "object " + object);
+            object++;
+        }
+        assertEquals(8, object);
+
+        // The indirect length object matches the content stream
+        int streamStart = text.indexOf("stream\n") + "stream\n".length();
+        int streamEnd = text.indexOf("\nendstream");
+        Matcher length = Pattern.compile("5 0 obj\n(\\d+)\n").matcher(text);
+        assertTrue(length.find());
+        assertEquals(streamEnd - streamStart, Integer.parseInt(length.group(1)));
+
+        // Translucent pens get a graphics state, and text is escaped
+        assertTrue(text.contains("/GS50 << /CA 0.5"), text);
+        assertTrue(text.contains("(Sirius <A&B>) Tj"));
+    }
+
+    @Test
+    void rotatedTextTurnsAboutItsAnchorInEveryBackend() throws IOException {
+        // Runs upwards from (12.5, 7), the glyphs to the left of the baseline
+        StringWriter svgOut = new StringWriter();
+        try (SvgPlateRenderer svg = new SvgPlateRenderer(svgOut, 600)) {
+            svg.text(12.5, 7, "Umbra Recta", "astrolabe-label", -90);
+        }
+        assertTrue(svgOut.toString().contains("<text x=\"12.50\" y=\"7\" class=\"astrolabe-label\" "
+                + "transform=\"rotate(-90 12.50 7)\">"), svgOut.toString());
+
+        // The text matrix maps the baseline to (0, -1) and the glyph up to (-1, 0) in plate coordinates
+        ByteArrayOutputStream pdfOut = new ByteArrayOutputStream();
+        try (PdfPlateRenderer pdf = new PdfPlateRenderer(pdfOut, 600)) {
+            pdf.text(12.5, 7, "Umbra Recta", "astrolabe-label", -90);
+        }
+        Matcher tm = Pattern.compile("(\\S+) (\\S+) (\\S+) (\\S+) (\\S+) (\\S+) Tm \\(Umbra Recta\\) Tj")
+                .matcher(pdfOut.toString(StandardCharsets.ISO_8859_1));
+        assertTrue(tm.find());
+        double[] expected = {0, -1, -1, 0, 12.5, 7};
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], Double.parseDouble(tm.group(i + 1)), 1e-3);
+        }
+
+        BufferedImage image = Java2DPlateRenderer.render(r -> r.text(12.5, 7, "Umbra Recta", "astrolabe-label", -90),
+                200, 200, 1, 100, 100);
+        int[] ink = ink(image);
+        double anchorX = 112.5;
+        double anchorY = 107;
+        assertTrue(ink[2] <= anchorX + 3 && ink[0] < anchorX - 4, "ink x " + ink[0] + ".." + ink[2]);
+        assertTrue(ink[3] <= anchorY + 1 && ink[1] < anchorY - 40, "ink y " + ink[1] + ".." + ink[3]);
+    }
+
+    // {minX, minY, maxX, maxY} of the pixels brighter than the background
+    private static int[] ink(BufferedImage image) {
+        int[] box = {Integer.MAX_VALUE, Integer.MAX_VALUE, -1, -1};
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                if (((image.getRGB(x, y) >> 8) & 0xFF) > 0x60) {
+                    box[0] = Math.min(box[0], x);
+                    box[1] = Math.min(box[1], y);
+                    box[2] = Math.max(box[2], x);
+                    box[3] = Math.max(box[3], y);
+                }
+            }
+        }
+        return box;
+    }
+}
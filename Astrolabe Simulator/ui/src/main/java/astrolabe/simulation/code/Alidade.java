@@ -1,45 +1,35 @@
 package astrolabe.simulation.code;
 
+import astrolabe.simulation.core.AlidadeFace;
 import javafx.scene.Group;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.paint.Color;
-import javafx.scene.shape.Line;
 import javafx.scene.shape.Polygon;
-import javafx.scene.shape.Rectangle;
 import javafx.scene.text.Text;
 
 public class Alidade extends Group {
     private double length;
+    private AlidadeFace face;
     private double rotation = 0;
     private Text angleDisplay;
 
     public Alidade(double length) {
         this.length = length;
+        this.face = new AlidadeFace(length);
         draw();
         setupInteraction();
     }
 
     private void draw() {
-        // Main rule
-        Line rule = new Line(-length/2, 0, length/2, 0);
-        rule.setStroke(Color.rgb(200, 200, 200));
-        rule.setStrokeWidth(2);
-
-        // Sighting vanes
-        Rectangle leftVane = new Rectangle(5, 20, Color.rgb(80, 80, 80));
-        leftVane.setX(-length/2 - 5);
-        leftVane.setY(-10);
-
-        Rectangle rightVane = new Rectangle(5, 20, Color.rgb(80, 80, 80));
-        rightVane.setX(length/2);
-        rightVane.setY(-10);
+        // Rule and vanes unrotated; the group transform turns them
+        face.draw(new FxPlateRenderer(this), 0);
 
         // Angle display
         angleDisplay = new Text(20, 30, "0°");
         angleDisplay.getStyleClass().add("astrolabe-label");
         angleDisplay.setFill(Color.rgb(220, 220, 220));
 
-        this.getChildren().addAll(rule, leftVane, rightVane, angleDisplay);
+        this.getChildren().add(angleDisplay);
     }
 
     private void setupInteraction() {
@@ -67,6 +57,15 @@ public class Alidade extends Group {
         angleDisplay.setY(20 * Math.sin(Math.toRadians(rotation + 90)));
     }
 
+    // Clockwise rotation on screen in degrees
+    public double getRotation() {
+        return rotation;
+    }
+
+    public AlidadeFace getFace() {
+        return face;
+    }
+
     public double getCurrentAngle() {
         return (360 - rotation) % 360;
     }
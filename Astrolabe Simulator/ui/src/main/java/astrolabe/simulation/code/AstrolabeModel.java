@@ -0,0 +1,178 @@
+package astrolabe.simulation.code;
+
+import astrolabe.simulation.core.ModelSnapshot;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+import javafx.beans.property.ReadOnlyDoubleProperty;
+import javafx.beans.property.ReadOnlyDoubleWrapper;
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+
+public class AstrolabeModel {
+    // The state lives in one immutable snapshot behind an atomic reference, so any thread
+    // can read a consistent observer and instant without locks. The read-only properties
+    // mirror it on the FX thread for listeners; setters may be called from any thread.
+    private final AtomicReference<ModelSnapshot> snapshot =
+            new AtomicReference<>(ModelSnapshot.of(51.5074, -0.1278, LocalDateTime.now())); // Default: London
+    private final ReadOnlyDoubleWrapper latitude = new ReadOnlyDoubleWrapper(this, "latitude", 51.5074);
+    private final ReadOnlyDoubleWrapper longitude = new ReadOnlyDoubleWrapper(this, "longitude", -0.1278);
+    private final ReadOnlyObjectWrapper<LocalDateTime> dateTime =
+            new ReadOnlyObjectWrapper<>(this, "dateTime", snapshot.get().getDateTime());
+    private final ReadOnlyDoubleWrapper timeRate = new ReadOnlyDoubleWrapper(this, "timeRate", 0);
+    private final ReadOnlyBooleanWrapper realTime = new ReadOnlyBooleanWrapper(this, "realTime", false);
+    // Real time ticks on its own thread at an interval the view chooses, so nothing runs
+    // on the FX thread between ticks; never more often than a frame
+    private static final Duration MIN_REAL_TIME_INTERVAL = Duration.ofMillis(16);
+    private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "real-time");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile Duration realTimeInterval = Duration.ofSeconds(1);
+    private ScheduledFuture<?> nextTick;
+    private long lastTick;
+
+    public AstrolabeModel() {
+        realTime.addListener((obs, oldVal, newVal) -> {
+            if (newVal) {
+                startTicking();
+            } else {
+                stopTicking();
+            }
+        });
+    }
+
+    private synchronized void startTicking() {
+        stopTicking();
+        lastTick = System.nanoTime();
+        nextTick = ticker.schedule(this::tick, 0, TimeUnit.MILLISECONDS);
+    }
+
+    private synchronized void stopTicking() {
+        if (nextTick != null) {
+            nextTick.cancel(false);
+            nextTick = null;
+        }
+    }
+
+    // Every tick moves the model to the current instant, fractions of a second included
+    private synchronized void tick() {
+        if (nextTick == null || !isRealTime()) return;
+        lastTick = System.nanoTime();
+        setDateTime(LocalDateTime.now());
+        nextTick = ticker.schedule(this::tick, realTimeInterval.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    // Time between real-time ticks, at least a frame. The view picks it while drawing the
+    // tick that is already scheduled, so a shorter interval moves the pending tick forward
+    // instead of waiting out the old one; a longer one takes effect from the next tick.
+    public synchronized void setRealTimeInterval(Duration interval) {
+        Duration previous = realTimeInterval;
+        realTimeInterval = interval.compareTo(MIN_REAL_TIME_INTERVAL) < 0 ? MIN_REAL_TIME_INTERVAL : interval;
+        if (nextTick != null && realTimeInterval.compareTo(previous) < 0 && nextTick.cancel(false)) {
+            long delay = lastTick + realTimeInterval.toNanos() - System.nanoTime();
+            nextTick = ticker.schedule(this::tick, Math.max(0, delay), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public Duration getRealTimeInterval() {
+        return realTimeInterval;
+    }
+
+    public ModelSnapshot getSnapshot() {
+        return snapshot.get();
+    }
+
+    // Cheap staleness check for work started from an earlier snapshot
+    public long getVersion() {
+        return snapshot.get().getVersion();
+    }
+
+    private void update(UnaryOperator<ModelSnapshot> change) {
+        ModelSnapshot next = snapshot.updateAndGet(change);
+        if (Platform.isFxApplicationThread()) {
+            syncProperties(next);
+        } else {
+            Platform.runLater(() -> syncProperties(snapshot.get()));
+        }
+    }
+
+    // Only changed values fire, and a late runLater never rolls the properties back
+    private void syncProperties(ModelSnapshot state) {
+        latitude.set(state.getLatitude());
+        longitude.set(state.getLongitude());
+        dateTime.set(state.getDateTime());
+        timeRate.set(state.getTimeRate());
+        realTime.set(state.isRealTime());
+    }
+
+    public double getLatitude() {
+        return snapshot.get().getLatitude();
+    }
+
+    public void setLatitude(double latitude) {
+        update(state -> state.withLatitude(latitude));
+    }
+
+    public ReadOnlyDoubleProperty latitudeProperty() {
+        return latitude.getReadOnlyProperty();
+    }
+
+    public double getLongitude() {
+        return snapshot.get().getLongitude();
+    }
+
+    public void setLongitude(double longitude) {
+        update(state -> state.withLongitude(longitude));
+    }
+
+    public ReadOnlyDoubleProperty longitudeProperty() {
+        return longitude.getReadOnlyProperty();
+    }
+
+    public LocalDateTime getDateTime() {
+        return snapshot.get().getDateTime();
+    }
+
+    public void setDateTime(LocalDateTime dateTime) {
+        update(state -> state.withDateTime(dateTime));
+    }
+
+    public ReadOnlyObjectProperty<LocalDateTime> dateTimeProperty() {
+        return dateTime.getReadOnlyProperty();
+    }
+
+    // Simulated seconds per real second
+    public double getTimeRate() {
+        return snapshot.get().getTimeRate();
+    }
+
+    public void setTimeRate(double timeRate) {
+        update(state -> state.withTimeRate(timeRate));
+    }
+
+    public ReadOnlyDoubleProperty timeRateProperty() {
+        return timeRate.getReadOnlyProperty();
+    }
+
+    public boolean isRealTime() {
+        return snapshot.get().isRealTime();
+    }
+
+    public void setRealTime(boolean realTime) {
+        update(state -> state.withRealTime(realTime));
+    }
+
+    public ReadOnlyBooleanProperty realTimeProperty() {
+        return realTime.getReadOnlyProperty();
+    }
+}
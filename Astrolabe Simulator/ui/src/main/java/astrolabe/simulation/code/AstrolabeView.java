@@ -0,0 +1,375 @@
+package astrolabe.simulation.code;
+
+import astrolabe.simulation.core.MaterFace;
+import astrolabe.simulation.core.ModelSnapshot;
+import astrolabe.simulation.core.PlateExporter;
+import astrolabe.simulation.core.ReteFace;
+import javafx.scene.Group;
+import javafx.scene.control.*;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.VBox;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Circle;
+import javafx.scene.text.Text;
+import javafx.scene.transform.Rotate;
+import javafx.stage.FileChooser;
+import java.io.File;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+public class AstrolabeView {
+    private final AstrolabeModel model;
+    private final BorderPane view;
+    private Rete rete;
+    private Alidade frontAlidade;
+    private Alidade backAlidade;
+    private Group frontView;
+    private Group backView;
+    private Group plateHolder;
+    private final PlateCache plateCache = new PlateCache(280, 280, 37);
+    // Static faces, plates and grids are built on worker threads and swapped in whole
+    private final SceneBuilder sceneBuilder = new SceneBuilder(2);
+    private double startAngle;
+
+    // Time scrubber: slider steps of the chosen scale either side of an anchor instant
+    private static final String[] SCRUB_SCALES = {"10 minutes", "Day", "Week", "Year"};
+    private static final Duration[] SCRUB_STEPS = {Duration.ofMinutes(10), Duration.ofDays(1), Duration.ofDays(7),
+            Duration.ofSeconds(31_557_600)};
+    private static final int SCRUB_RANGE = 500;
+    private Slider scrubSlider;
+    private LocalDateTime scrubAnchor;
+    private Duration scrubStep = SCRUB_STEPS[1];
+    private boolean resettingScrub = false;
+
+    public AstrolabeView(AstrolabeModel model) {
+        this.model = model;
+        this.view = new BorderPane();
+        view.setStyle("-fx-background-color: #2b2b2b;");
+        initializeUI();
+    }
+
+    private void initializeUI() {
+        // Create front and back views
+        frontView = createFrontView();
+        backView = createBackView();
+
+        // Default to front view
+        view.setCenter(frontView);
+
+        // Add control panel with view toggle, lat/lon sliders, and date selector
+        VBox controls = new VBox(10);
+        controls.getStyleClass().add("control-panel");
+
+        Label title = new Label("Astrolabe Simulator");
+        title.setStyle("-fx-font-weight: bold; -fx-font-size: 14px;");
+
+        ToggleButton viewToggle = new ToggleButton("Show Back");
+        viewToggle.setOnAction(e -> {
+            if (viewToggle.isSelected()) {
+                view.setCenter(backView);
+                viewToggle.setText("Show Front");
+            } else {
+                view.setCenter(frontView);
+                viewToggle.setText("Show Back");
+            }
+        });
+
+        // Latitude slider
+        Label latLabel = new Label(String.format("Latitude: %.2f°", model.getLatitude()));
+        Slider latSlider = new Slider(-90, 90, model.getLatitude());
+        latSlider.setShowTickMarks(true);
+        latSlider.setShowTickLabels(true);
+        latSlider.setMajorTickUnit(30);
+        latSlider.setMinorTickCount(5);
+        latSlider.setSnapToTicks(true);
+        latSlider.valueProperty().addListener((obs, oldVal, newVal) -> {
+            model.setLatitude(newVal.doubleValue());
+            latLabel.setText(String.format("Latitude: %.2f°", model.getLatitude()));
+            double latitude = model.getLatitude();
+            sceneBuilder.build(plateHolder, () -> plateCache.get(latitude)); // Swap in the cached plate
+        });
+
+        // Longitude slider
+        Label lonLabel = new Label(String.format("Longitude: %.2f°", model.getLongitude()));
+        Slider lonSlider = new Slider(-180, 180, model.getLongitude());
+        lonSlider.setShowTickMarks(true);
+        lonSlider.setShowTickLabels(true);
+        lonSlider.setMajorTickUnit(60);
+        lonSlider.setMinorTickCount(5);
+        lonSlider.setSnapToTicks(true);
+        lonSlider.valueProperty().addListener((obs, oldVal, newVal) -> {
+            model.setLongitude(newVal.doubleValue());
+            lonLabel.setText(String.format("Longitude: %.2f°", model.getLongitude()));
+        });
+
+        // Time scrubber; the states along it are prefetched by the rete
+        Label scrubLabel = new Label("Scrub: 0 x " + SCRUB_SCALES[1]);
+        scrubSlider = new Slider(-SCRUB_RANGE, SCRUB_RANGE, 0);
+        scrubSlider.setBlockIncrement(1);
+        ChoiceBox<String> scrubScale = new ChoiceBox<>();
+        scrubScale.getItems().addAll(SCRUB_SCALES);
+        scrubScale.getSelectionModel().select(1);
+        scrubScale.getSelectionModel().selectedIndexProperty().addListener((obs, oldVal, newVal) -> {
+            scrubStep = SCRUB_STEPS[newVal.intValue()];
+            resetScrubber(model.getDateTime());
+        });
+        // A drag starting after the time moved elsewhere (animation, real time) continues from there
+        scrubSlider.valueChangingProperty().addListener((obs, oldVal, newVal) -> {
+            long steps = Math.round(scrubSlider.getValue());
+            if (newVal && !model.getDateTime().equals(scrubAnchor.plus(scrubStep.multipliedBy(steps)))) {
+                scrubAnchor = model.getDateTime().minus(scrubStep.multipliedBy(steps));
+                rete.setScrubGrid(scrubAnchor, scrubStep);
+            }
+        });
+        scrubSlider.valueProperty().addListener((obs, oldVal, newVal) -> {
+            long steps = Math.round(newVal.doubleValue());
+            scrubLabel.setText("Scrub: " + steps + " x " + SCRUB_SCALES[scrubScale.getSelectionModel().getSelectedIndex()]);
+            if (!resettingScrub) {
+                model.setDateTime(scrubAnchor.plus(scrubStep.multipliedBy(steps)));
+            }
+        });
+        resetScrubber(model.getDateTime());
+
+        // Date selector
+        Label dateLabel = new Label("Date: " + model.getDateTime().format(DateTimeFormatter.ISO_LOCAL_DATE));
+        DatePicker datePicker = new DatePicker(model.getDateTime().toLocalDate());
+        ToggleGroup eraToggle = new ToggleGroup();
+        RadioButton ceRadio = new RadioButton("CE");
+        RadioButton bcRadio = new RadioButton("BC");
+        ceRadio.setToggleGroup(eraToggle);
+        bcRadio.setToggleGroup(eraToggle);
+        ceRadio.setSelected(true);
+        ceRadio.setTextFill(Color.WHITE);
+        bcRadio.setTextFill(Color.WHITE);
+
+        datePicker.valueProperty().addListener((obs, oldVal, newVal) -> {
+            int year = newVal.getYear();
+            if (bcRadio.isSelected()) {
+                year = -year + 1; // Convert to negative year (e.g., 500 BC = -499)
+            }
+            LocalDateTime newDateTime = newVal.withYear(year).atStartOfDay();
+            model.setDateTime(newDateTime);
+            resetScrubber(newDateTime);
+            dateLabel.setText("Date: " + model.getDateTime().format(DateTimeFormatter.ISO_LOCAL_DATE));
+        });
+
+        eraToggle.selectedToggleProperty().addListener((obs, oldVal, newVal) -> {
+            LocalDate selectedDate = datePicker.getValue();
+            int year = selectedDate.getYear();
+            if (newVal == bcRadio) {
+                year = -year + 1; // Convert to negative year
+            } else {
+                year = Math.abs(year); // Ensure positive for CE
+            }
+            LocalDateTime newDateTime = selectedDate.withYear(year).atStartOfDay();
+            model.setDateTime(newDateTime);
+            resetScrubber(newDateTime);
+            dateLabel.setText("Date: " + model.getDateTime().format(DateTimeFormatter.ISO_LOCAL_DATE));
+        });
+
+        // Star detail: limiting magnitude and automatic frame-budget mode
+        Label magLabel = new Label(String.format("Limiting magnitude: %.1f", rete.getLimitingMagnitude()));
+        Slider magSlider = new Slider(-1.5, 8, rete.getLimitingMagnitude());
+        magSlider.setMajorTickUnit(1);
+        magSlider.setMinorTickCount(1);
+        magSlider.setSnapToTicks(true);
+        magSlider.valueProperty().addListener((obs, oldVal, newVal) -> {
+            magLabel.setText(String.format("Limiting magnitude: %.1f", newVal.doubleValue()));
+            rete.setLimitingMagnitude(newVal.doubleValue());
+        });
+
+        CheckBox autoDetailBox = new CheckBox("Auto detail");
+        autoDetailBox.setTextFill(Color.WHITE);
+        autoDetailBox.setSelected(rete.isAutoDetail());
+        autoDetailBox.selectedProperty().addListener((obs, oldVal, newVal) -> rete.setAutoDetail(newVal));
+
+        CheckBox canvasStarsBox = new CheckBox("Canvas star field");
+        canvasStarsBox.setTextFill(Color.WHITE);
+        canvasStarsBox.setSelected(rete.getStarBackend() == Rete.StarBackend.CANVAS);
+        canvasStarsBox.selectedProperty().addListener((obs, oldVal, newVal) ->
+                rete.setStarBackend(newVal ? Rete.StarBackend.CANVAS : Rete.StarBackend.NODES));
+
+        CheckBox densityBox = new CheckBox("Faint star glow");
+        densityBox.setTextFill(Color.WHITE);
+        densityBox.setSelected(rete.isDensityBackground());
+        densityBox.selectedProperty().addListener((obs, oldVal, newVal) -> rete.setDensityBackground(newVal));
+
+        // Vector export of the face on display
+        Button exportButton = new Button("Export...");
+        exportButton.setOnAction(e -> exportFace(viewToggle.isSelected()));
+
+        // Time label, following the model
+        DateTimeFormatter timeFormat = DateTimeFormatter.ofPattern("uuuu-MM-dd HH:mm");
+        Label timeLabel = new Label("Time: " + model.getDateTime().format(timeFormat));
+        model.dateTimeProperty().addListener((obs, oldVal, newVal) -> timeLabel.setText("Time: " + newVal.format(timeFormat)));
+
+        controls.getChildren().addAll(
+                title,
+                latLabel,
+                latSlider,
+                lonLabel,
+                lonSlider,
+                dateLabel,
+                datePicker,
+                ceRadio,
+                bcRadio,
+                scrubLabel,
+                scrubSlider,
+                scrubScale,
+                magLabel,
+                magSlider,
+                autoDetailBox,
+                canvasStarsBox,
+                densityBox,
+                timeLabel,
+                viewToggle,
+                exportButton
+        );
+
+        view.setRight(controls);
+    }
+
+    // Centres the scrubber on an instant without moving the model
+    private void resetScrubber(LocalDateTime anchor) {
+        scrubAnchor = anchor;
+        rete.setScrubGrid(anchor, scrubStep);
+        resettingScrub = true;
+        scrubSlider.setValue(0);
+        resettingScrub = false;
+    }
+
+    private Group createFrontView() {
+        Group frontGroup = new Group();
+        frontGroup.getStyleClass().add("astrolabe");
+
+        Mater mater = new Mater(300, sceneBuilder);
+        frontGroup.getChildren().add(mater);
+
+        // Climate plate for the current latitude, swapped as a single node
+        plateHolder = new Group();
+        double latitude = model.getLatitude();
+        sceneBuilder.build(plateHolder, () -> plateCache.get(latitude));
+        frontGroup.getChildren().add(plateHolder);
+
+        rete = new Rete(280, model, sceneBuilder);
+        frontGroup.getChildren().add(rete);
+
+        frontAlidade = new Alidade(290);
+        frontGroup.getChildren().add(frontAlidade);
+
+        // Make rete rotatable
+        rete.setOnMousePressed(this::handleReteMousePressed);
+        rete.setOnMouseDragged(this::handleReteMouseDragged);
+
+        return frontGroup;
+    }
+
+    private Group createBackView() {
+        Group backGroup = new Group();
+        backGroup.getStyleClass().add("astrolabe");
+
+        // Back plate and altitude scale, built off the FX thread
+        Group backFace = new Group();
+        backGroup.getChildren().add(backFace);
+        sceneBuilder.build(backFace, this::buildBackFace);
+
+        // Add back alidade (for altitude measurement)
+        backAlidade = new Alidade(290);
+        backGroup.getChildren().add(backAlidade);
+
+        // Add zenith point
+        Circle zenith = new Circle(3, Color.rgb(100, 100, 255));
+        backGroup.getChildren().add(zenith);
+
+        return backGroup;
+    }
+
+    // Creates detached nodes only, so it may run on any thread
+    private Group buildBackFace() {
+        Group face = new Group();
+
+        // Create back plate (simplified)
+        Circle backPlate = new Circle(300);
+        backPlate.setFill(Color.rgb(50, 50, 50));
+        backPlate.setStroke(Color.rgb(120, 120, 120));
+        face.getChildren().add(backPlate);
+
+        // Add altitude scale
+        for (int deg = 0; deg <= 90; deg += 5) {
+            double radius = 280 - deg * 2.5;
+            Circle circle = new Circle(radius);
+            circle.setFill(Color.TRANSPARENT);
+            circle.setStroke(Color.rgb(100, 100, 100));
+            circle.getStrokeDashArray().addAll(1d, 3d);
+            face.getChildren().add(circle);
+
+            if (deg % 10 == 0) {
+                Text label = new Text(radius + 5, 5, deg + "°");
+                label.getStyleClass().add("astrolabe-label");
+                face.getChildren().add(label);
+            }
+        }
+        return face;
+    }
+
+    private void exportFace(boolean back) {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Export Astrolabe");
+        chooser.getExtensionFilters().addAll(
+                new FileChooser.ExtensionFilter("SVG image", "*.svg"),
+                new FileChooser.ExtensionFilter("PDF document", "*.pdf"));
+        chooser.setInitialFileName(back ? "astrolabe-back.svg" : "astrolabe-front.svg");
+        File file = chooser.showSaveDialog(view.getScene().getWindow());
+        if (file == null) {
+            return;
+        }
+
+        // Same geometry as the scene, drawn from the current model state
+        ModelSnapshot observer = model.getSnapshot();
+        double latitude = observer.getLatitude();
+        double longitude = observer.getLongitude();
+        LocalDateTime dateTime = observer.getDateTime();
+        MaterFace mater = new MaterFace(PlateExporter.MATER_RADIUS);
+        Alidade alidade = back ? backAlidade : frontAlidade;
+        try {
+            PlateExporter.write(file.toPath(), PlateExporter.PAGE_SIZE, r -> {
+                if (back) {
+                    mater.drawBack(r);
+                } else {
+                    mater.drawFront(r);
+                    plateCache.get(latitude).getTympanum().draw(r);
+                    new ReteFace(PlateExporter.PLATE_RADIUS).draw(r, rete.getCatalog(), latitude, longitude,
+                            dateTime, rete.getLimitingMagnitude());
+                }
+                alidade.getFace().draw(r, alidade.getRotation());
+                alidade.getFace().drawReading(r, alidade.getRotation());
+            });
+        } catch (IOException ex) {
+            new Alert(Alert.AlertType.ERROR, "Export failed: " + ex.getMessage()).showAndWait();
+        }
+    }
+
+    private void handleReteMousePressed(MouseEvent event) {
+        startAngle = Math.toDegrees(Math.atan2(event.getY(), event.getX()));
+    }
+
+    private void handleReteMouseDragged(MouseEvent event) {
+        double currentAngle = Math.toDegrees(Math.atan2(event.getY(), event.getX()));
+        double rotationAngle = currentAngle - startAngle;
+        rete.getTransforms().add(new Rotate(rotationAngle, 0, 0));
+        startAngle = currentAngle;
+        rete.publishState();
+    }
+
+    public BorderPane getView() {
+        return view;
+    }
+
+    public Rete getRete() {
+        return rete;
+    }
+}
@@ -0,0 +1,109 @@
+package astrolabe.simulation.code;
+
+import astrolabe.simulation.core.Pen;
+import astrolabe.simulation.core.PlateRenderer;
+import java.util.concurrent.CancellationException;
+import javafx.application.Platform;
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Arc;
+import javafx.scene.shape.ArcType;
+import javafx.scene.shape.Circle;
+import javafx.scene.shape.Ellipse;
+import javafx.scene.shape.Line;
+import javafx.scene.shape.Polygon;
+import javafx.scene.shape.Polyline;
+import javafx.scene.shape.Shape;
+import javafx.scene.text.Text;
+import javafx.scene.transform.Rotate;
+
+public class FxPlateRenderer implements PlateRenderer {
+    // Builds scene graph nodes into a target group. Off the FX thread the target is a
+    // detached group of a scene build, which stops between batches once interrupted.
+    private static final int BATCH = 64;
+
+    private final Group target;
+    private final boolean background;
+    private int count;
+
+    public FxPlateRenderer(Group target) {
+        this.target = target;
+        this.background = !Platform.isFxApplicationThread();
+    }
+
+    @Override
+    public void circle(double cx, double cy, double r, Pen pen) {
+        add(new Circle(cx, cy, r), pen);
+    }
+
+    @Override
+    public void arc(double cx, double cy, double r, double startAngle, double extent, Pen pen) {
+        // Arc angles run counterclockwise on screen, the plate's clockwise
+        Arc arc = new Arc(cx, cy, r, r, -startAngle, -extent);
+        arc.setType(ArcType.OPEN);
+        add(arc, pen);
+    }
+
+    @Override
+    public void sector(double cx, double cy, double r, double startAngle, double extent, Pen pen) {
+        Arc arc = new Arc(cx, cy, r, r, -startAngle, -extent);
+        arc.setType(ArcType.ROUND);
+        add(arc, pen);
+    }
+
+    @Override
+    public void ellipse(double cx, double cy, double rx, double ry, Pen pen) {
+        add(new Ellipse(cx, cy, rx, ry), pen);
+    }
+
+    @Override
+    public void line(double x1, double y1, double x2, double y2, Pen pen) {
+        add(new Line(x1, y1, x2, y2), pen);
+    }
+
+    @Override
+    public void polygon(double[] points, Pen pen) {
+        add(new Polygon(points), pen);
+    }
+
+    @Override
+    public void polyline(double[] points, Pen pen) {
+        add(new Polyline(points), pen);
+    }
+
+    @Override
+    public void text(double x, double y, String text, String styleClass, double rotate) {
+        Text label = new Text(x, y, text);
+        label.getStyleClass().add(styleClass);
+        if (rotate != 0) {
+            // About the anchor as in the exporters; setRotate would turn about the node centre
+            label.getTransforms().add(new Rotate(rotate, x, y));
+        }
+        append(label);
+    }
+
+    private void add(Shape shape, Pen pen) {
+        shape.setStroke(toColor(pen.getStroke(), pen.getOpacity()));
+        shape.setStrokeWidth(pen.getWidth());
+        shape.setFill(pen.isFilled() ? toColor(pen.getFill(), 1.0) : Color.TRANSPARENT);
+        for (double d : pen.getDash()) {
+            shape.getStrokeDashArray().add(d);
+        }
+        if (pen.getStyleClass() != null) {
+            shape.getStyleClass().add(pen.getStyleClass());
+        }
+        append(shape);
+    }
+
+    private void append(Node node) {
+        if (background && ++count % BATCH == 0 && Thread.interrupted()) {
+            throw new CancellationException("Scene build interrupted");
+        }
+        target.getChildren().add(node);
+    }
+
+    private static Color toColor(int rgb, double opacity) {
+        return Color.rgb((rgb >> 16) & 0xFF, (rgb >> 8) & 0xFF, rgb & 0xFF, opacity);
+    }
+}
@@ -0,0 +1,79 @@
+package astrolabe.simulation.code;
+
+import java.util.Objects;
+import java.util.function.Consumer;
+import javafx.scene.CacheHint;
+import javafx.scene.Group;
+
+public class Layer extends Group {
+    // How often a layer's content can change
+    public enum Kind { STATIC, LATITUDE, EPOCH, FRAME }
+
+    private final Kind kind;
+    private final Consumer<Group> painter;
+    private Object key;
+    private boolean valid = false;
+
+    // Non-frame layers are cached as bitmaps and only repainted through update()
+    public Layer(Kind kind, Consumer<Group> painter) {
+        this.kind = kind;
+        this.painter = painter;
+        if (kind != Kind.FRAME) {
+            setCache(true);
+            setCacheHint(CacheHint.QUALITY);
+        }
+    }
+
+    // For content painted only through the painters passed to updateAsync
+    public Layer(Kind kind) {
+        this(kind, group -> { });
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    // Forces a repaint on the next update, e.g. after a resize
+    public void invalidate() {
+        valid = false;
+    }
+
+    // Repaints when invalidated or when the key the content depends on (latitude,
+    // epoch, ...) has changed. Frame layers repaint every time. Returns true if repainted.
+    public boolean update(Object key) {
+        if (kind != Kind.FRAME && valid && Objects.equals(this.key, key)) {
+            return false;
+        }
+        getChildren().clear();
+        painter.accept(this);
+        this.key = key;
+        this.valid = true;
+        return true;
+    }
+
+    // Same as update(), but the painter fills a detached group on a builder thread, which
+    // replaces the layer's content once ready; the old content shows until then. The
+    // painter must not touch attached nodes.
+    public boolean updateAsync(Object key, SceneBuilder builder) {
+        return updateAsync(key, builder, painter);
+    }
+
+    // Same, with a painter for this build only, so it can capture immutable state
+    // instead of reading fields the FX thread may change meanwhile
+    public boolean updateAsync(Object key, SceneBuilder builder, Consumer<Group> painter) {
+        if (kind != Kind.FRAME && valid && Objects.equals(this.key, key)) {
+            return false;
+        }
+        if (getChildren().size() > 1) {
+            getChildren().clear();
+        }
+        builder.build(this, () -> {
+            Group content = new Group();
+            painter.accept(content);
+            return content;
+        });
+        this.key = key;
+        this.valid = true;
+        return true;
+    }
+}
@@ -0,0 +1,47 @@
+package astrolabe.simulation.code;
+
+import astrolabe.simulation.core.SkyStreamServer;
+import astrolabe.simulation.core.StarCatalog;
+import javafx.application.Application;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+
+public class Main extends Application {
+    @Override
+    public void start(Stage primaryStage) throws Exception {
+        AstrolabeModel model = new AstrolabeModel();
+        AstrolabeView view = new AstrolabeView(model);
+
+        // Optional dense catalog: --catalog=stars.csv
+        String catalogPath = getParameters().getNamed().get("catalog");
+        if (catalogPath != null) {
+            view.getRete().setCatalog(StarCatalog.load(Path.of(catalogPath)));
+        }
+
+        // Optional WebSocket feed for remote viewers: --stream-port=8765
+        String streamPort = getParameters().getNamed().get("stream-port");
+        if (streamPort != null) {
+            SkyStreamServer stream = new SkyStreamServer(
+                    new InetSocketAddress(InetAddress.getLoopbackAddress(), Integer.parseInt(streamPort)));
+            stream.start();
+            view.getRete().setSkyStream(stream);
+            primaryStage.setOnHidden(event -> stream.stop());
+        }
+
+        Scene scene = new Scene(view.getView(), 900, 800);
+
+        // Apply global stylesheet
+        scene.getStylesheets().add(getClass().getResource("/astrolabe/simulation/code/styles.css").toExternalForm());
+        primaryStage.setTitle("Astrolabe Simulator");
+        primaryStage.setScene(scene);
+        primaryStage.setResizable(false);
+        primaryStage.show();
+    }
+
+    public static void main(String[] args) {
+        launch(args);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,43 @@
+package astrolabe.simulation.code;
+
+import astrolabe.simulation.core.MaterFace;
+import javafx.scene.Group;
+
+public class Mater extends Group {
+    // Both faces are fully static, so each is painted once into a cached layer
+    private final Layer frontLayer;
+    private final Layer backLayer;
+    private final SceneBuilder builder;
+
+    // The faces are built off the FX thread and appear once ready
+    public Mater(double radius, SceneBuilder builder) {
+        this.builder = builder;
+        MaterFace face = new MaterFace(radius);
+        this.getStyleClass().add("astrolabe");
+        frontLayer = new Layer(Layer.Kind.STATIC, layer -> face.drawFront(new FxPlateRenderer(layer)));
+        backLayer = new Layer(Layer.Kind.STATIC, layer -> face.drawBack(new FxPlateRenderer(layer)));
+        backLayer.getStyleClass().add("astrolabe-back");
+        backLayer.setVisible(false);
+        this.getChildren().addAll(frontLayer, backLayer);
+        frontLayer.updateAsync(radius, builder);
+        backLayer.updateAsync(radius, builder);
+    }
+
+    // The only thing the faces depend on; a new radius repaints them once. Each build
+    // captures its own face, so a running build never sees the next radius.
+    public void setRadius(double radius) {
+        MaterFace face = new MaterFace(radius);
+        frontLayer.updateAsync(radius, builder, layer -> face.drawFront(new FxPlateRenderer(layer)));
+        backLayer.updateAsync(radius, builder, layer -> face.drawBack(new FxPlateRenderer(layer)));
+    }
+
+    public void showFront() {
+        frontLayer.setVisible(true);
+        backLayer.setVisible(false);
+    }
+
+    public void showBack() {
+        frontLayer.setVisible(false);
+        backLayer.setVisible(true);
+    }
+}
@@ -0,0 +1,33 @@
+package astrolabe.simulation.code;
+
+import astrolabe.simulation.core.Tympanum;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class PlateCache {
+    // Bounded LRU of generated plates keyed by latitude in hundredths of a degree
+    private final double radius;
+    private final double limbRadius;
+    private final Map<Long, TympanumPlate> plates;
+
+    public PlateCache(double radius, double limbRadius, int capacity) {
+        this.radius = radius;
+        this.limbRadius = limbRadius;
+        this.plates = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, TympanumPlate> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    // Plates may be built on any thread; a new one is detached until the caller attaches it
+    public synchronized TympanumPlate get(double latitude) {
+        long key = Math.round(latitude * 100);
+        return plates.computeIfAbsent(key, k -> new TympanumPlate(new Tympanum(k / 100.0, radius, limbRadius)));
+    }
+
+    public synchronized int size() {
+        return plates.size();
+    }
+}
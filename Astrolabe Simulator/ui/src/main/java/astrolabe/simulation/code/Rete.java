@@ -0,0 +1,783 @@
+package astrolabe.simulation.code;
+
+import astrolabe.simulation.core.AstroMath;
+import astrolabe.simulation.core.FrameScheduler;
+import astrolabe.simulation.core.ModelSnapshot;
+import astrolabe.simulation.core.PlateRenderer;
+import astrolabe.simulation.core.ReteFace;
+import astrolabe.simulation.core.SkyScrubBuffer;
+import astrolabe.simulation.core.SimulationClock;
+import astrolabe.simulation.core.SkyState;
+import astrolabe.simulation.core.SkyStateCache;
+import astrolabe.simulation.core.SkyStreamServer;
+import astrolabe.simulation.core.SkyTrack;
+import astrolabe.simulation.core.StarCatalog;
+import astrolabe.simulation.core.TrackingCadence;
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.*;
+import javafx.scene.text.Text;
+import javafx.scene.transform.Transform;
+import javafx.animation.AnimationTimer;
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
+import javafx.scene.CacheHint;
+import javafx.beans.InvalidationListener;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class Rete extends Group {
+    private static final long FRAME_BUDGET_NANOS = 12_000_000L;
+    // Frames in a row with work carried over before auto detail drops a tier
+    private static final int DEFERRED_FRAMES = 30;
+    // Catalog rows per deferrable piece of the faint star field
+    private static final int FAINT_CHUNK = 400;
+    // Animation speed 1 is 15 minutes of sky per tenth of a second
+    private static final double ANIMATION_RATE = 9000;
+    // Keyframes reach this much real time ahead of the animation, and at least two
+    // simulated minutes
+    private static final double TRACK_LOOKAHEAD_SECONDS = 1.0;
+    private static final double TRACK_TOLERANCE = 0.002;
+    // In real time, redraw once the sky has moved this far on the plate
+    private static final double REAL_TIME_PIXELS = 0.5;
+    // Memory the scrubber's prefetched states may take
+    private static final long SCRUB_BUDGET_BYTES = 32L << 20;
+
+    // Star field backends: one node set per star, or a single canvas pass
+    public enum StarBackend { NODES, CANVAS }
+
+    private double radius;
+    private AstrolabeModel model;
+    private final SceneBuilder sceneBuilder;
+    private ReteFace face;
+    private StarCatalog catalog;
+    private SkyStateCache skyCache;
+    private SkyScrubBuffer scrubBuffer;
+    private int[][] visibleBands;
+    private double bandLatitude = Double.NaN;
+    private int bandCentury = -1;
+    // Simulation steps at a fixed 30 Hz; frames in between draw an interpolated sky
+    private SimulationClock clock;
+    private AnimationTimer clockTimer;
+    private int animationSpeed = 1;
+    private boolean isAnimating = false;
+
+    // Level of detail: magnitude tiers drawn and the idle refinement that adds them back
+    private double limitingMagnitude = 6.0;
+    private boolean autoDetail = false;
+    private int detailTiers;
+    private boolean refining = false;
+    private PauseTransition idleRefine;
+    private long seenOverruns;
+    private long seenDeferred;
+    private int deferredFrames;
+
+    // Sky states are computed on a background thread from the latest request and land in
+    // a single-slot mailbox; each pulse draws the newest one and older ones are dropped
+    private final ExecutorService computeThread;
+    private final AtomicReference<SkyRequest> pendingRequest = new AtomicReference<>();
+    private final AtomicReference<SkyState> mailbox = new AtomicReference<>();
+    // While animating, keyframes come through their own mailbox and every frame samples
+    // them; computeTrack is only touched by the compute thread
+    private final AtomicReference<SkyTrack> trackMailbox = new AtomicReference<>();
+    private SkyTrack computeTrack;
+    private SkyTrack track;
+    private AnimationTimer pulse;
+    private boolean pulseRunning = false;
+    private SkyState shownState;
+    private SkyState previousState;
+    private SkyState densityState;
+    private boolean dirty = true;
+
+    private StarBackend starBackend = StarBackend.NODES;
+    private StarFieldCanvas starCanvas;
+    // Created on first use and kept, so toggling never leaks its render thread or buffers
+    private StarDensityLayer densityLayer;
+    private boolean densityEnabled = false;
+
+    // Remote viewers get the last drawn state together with the drag rotation
+    private SkyStreamServer skyStream;
+    private SkyState lastState;
+
+    // Grid depends only on latitude, tropics also on the epoch; the rest is per frame
+    private Layer gridLayer;
+    private Layer tropicsLayer;
+    private Layer skyLayer;
+    private Layer eclipticLayer;
+    private Layer labelLayer;
+    private final Group faintGroup = new Group();
+    private final List<Layer> faintLayers = new ArrayList<>();
+    private List<int[]> faintRanges = List.of();
+
+    // Sky work per frame by priority: planets and bright stars, then the grid and
+    // ecliptic, then faint stars, then labels and pointers. What misses the frame budget
+    // is drawn on a later frame, over the previous content of its layer.
+    private final FrameScheduler scheduler = new FrameScheduler(FRAME_BUDGET_NANOS);
+    private SkyState frame;
+
+    // Angular measurement components
+    private Circle firstSelection;
+    private Circle secondSelection;
+    private Line measurementLine;
+    private Text measurementText;
+    private boolean isFirstSelection = true;
+
+    public Rete(double radius, AstrolabeModel model, SceneBuilder sceneBuilder) {
+        this.radius = radius;
+        this.model = model;
+        this.sceneBuilder = sceneBuilder;
+        this.face = new ReteFace(radius);
+        catalog = StarCatalog.brightStars();
+        skyCache = createSkyCache(catalog);
+        scrubBuffer = createScrubBuffer(catalog);
+        computeThread = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "sky-compute");
+            thread.setDaemon(true);
+            return thread;
+        });
+        setupMeasurementTools();
+        setupDetail();
+        setupLayers();
+        setupPulse();
+        setupAnimation();
+
+        // Model changes only mark the rete dirty; the next pulse redraws once
+        InvalidationListener redraw = observable -> requestDraw();
+        model.latitudeProperty().addListener(redraw);
+        model.longitudeProperty().addListener(redraw);
+        model.dateTimeProperty().addListener(redraw);
+    }
+
+    private void setupMeasurementTools() {
+        firstSelection = new Circle(5, Color.TRANSPARENT);
+        firstSelection.setStroke(Color.YELLOW);
+        firstSelection.setStrokeWidth(2);
+        firstSelection.setVisible(false);
+
+        secondSelection = new Circle(5, Color.TRANSPARENT);
+        secondSelection.setStroke(Color.ORANGE);
+        secondSelection.setStrokeWidth(2);
+        secondSelection.setVisible(false);
+
+        measurementLine = new Line();
+        measurementLine.setStroke(Color.CYAN);
+        measurementLine.setStrokeWidth(1);
+        measurementLine.getStrokeDashArray().addAll(5d, 5d);
+        measurementLine.setVisible(false);
+
+        measurementText = new Text();
+        measurementText.setFill(Color.WHITE);
+        measurementText.setStroke(Color.BLACK);
+        measurementText.setStrokeWidth(0.5);
+        measurementText.getStyleClass().add("measurement-label");
+        measurementText.setVisible(false);
+
+        this.setOnMouseClicked(event -> handleMeasurementClick(event.getX(), event.getY()));
+    }
+
+    private void handleMeasurementClick(double x, double y) {
+        if (isFirstSelection) {
+            firstSelection.setCenterX(x);
+            firstSelection.setCenterY(y);
+            firstSelection.setVisible(true);
+            secondSelection.setVisible(false);
+            measurementLine.setVisible(false);
+            measurementText.setVisible(false);
+            isFirstSelection = false;
+        } else {
+            secondSelection.setCenterX(x);
+            secondSelection.setCenterY(y);
+            secondSelection.setVisible(true);
+
+            measurementLine.setStartX(firstSelection.getCenterX());
+            measurementLine.setStartY(firstSelection.getCenterY());
+            measurementLine.setEndX(secondSelection.getCenterX());
+            measurementLine.setEndY(secondSelection.getCenterY());
+            measurementLine.setVisible(true);
+
+            double angle = calculateAngle(
+                    firstSelection.getCenterX(), firstSelection.getCenterY(),
+                    secondSelection.getCenterX(), secondSelection.getCenterY()
+            );
+
+            measurementText.setText(String.format("%.1f°", angle));
+            measurementText.setX((firstSelection.getCenterX() + secondSelection.getCenterX()) / 2);
+            measurementText.setY((firstSelection.getCenterY() + secondSelection.getCenterY()) / 2);
+            measurementText.setVisible(true);
+
+            isFirstSelection = true;
+        }
+    }
+
+    private double calculateAngle(double x1, double y1, double x2, double y2) {
+        double dx = x2 - x1;
+        double dy = y2 - y1;
+        double distance = Math.sqrt(dx*dx + dy*dy);
+        double angleRadians = 2 * Math.asin(distance / (2 * radius));
+        return Math.toDegrees(angleRadians);
+    }
+
+    public void clearMeasurements() {
+        firstSelection.setVisible(false);
+        secondSelection.setVisible(false);
+        measurementLine.setVisible(false);
+        measurementText.setVisible(false);
+        isFirstSelection = true;
+    }
+
+    private void setupLayers() {
+        gridLayer = new Layer(Layer.Kind.LATITUDE);
+        gridLayer.setCacheHint(CacheHint.ROTATE);
+        tropicsLayer = new Layer(Layer.Kind.EPOCH);
+        tropicsLayer.setCacheHint(CacheHint.ROTATE);
+        skyLayer = new Layer(Layer.Kind.FRAME, this::drawSky);
+        eclipticLayer = new Layer(Layer.Kind.FRAME, this::drawEcliptic);
+        labelLayer = new Layer(Layer.Kind.FRAME, this::drawLabels);
+        layoutLayers();
+
+        scheduler.setBudget(FrameScheduler.Priority.PLANETS, 5_000_000L);
+        scheduler.setBudget(FrameScheduler.Priority.GRID, 3_000_000L);
+        scheduler.setBudget(FrameScheduler.Priority.FAINT_STARS, 3_000_000L);
+        scheduler.setBudget(FrameScheduler.Priority.LABELS, 1_000_000L);
+    }
+
+    public FrameScheduler getFrameScheduler() {
+        return scheduler;
+    }
+
+    // Render tasks waiting for a later frame
+    public int getRenderBacklog() {
+        return scheduler.getBacklog();
+    }
+
+    // Density glow at the bottom, measurement tools on top
+    private void layoutLayers() {
+        getChildren().setAll(gridLayer, tropicsLayer, eclipticLayer, faintGroup, skyLayer, labelLayer,
+                firstSelection, secondSelection, measurementLine, measurementText);
+        if (densityEnabled) {
+            getChildren().add(0, densityLayer);
+        }
+    }
+
+    public void setCatalog(StarCatalog catalog) {
+        this.catalog = catalog;
+        this.skyCache = createSkyCache(catalog);
+        this.scrubBuffer.shutdown();
+        this.scrubBuffer = createScrubBuffer(catalog);
+        this.visibleBands = null;
+        this.detailTiers = catalog.tiersBrighterThan(limitingMagnitude);
+        requestDraw();
+    }
+
+    public StarCatalog getCatalog() {
+        return catalog;
+    }
+
+    // Snapped sliders and stepped time land on the same keys again and again
+    private static SkyStateCache createSkyCache(StarCatalog catalog) {
+        return new SkyStateCache(catalog, 0.01, Duration.ofMinutes(1), 256);
+    }
+
+    public SkyStateCache getSkyCache() {
+        return skyCache;
+    }
+
+    // As many states as fit in the budget at the current detail; two workers leave the
+    // compute thread and the FX thread a core
+    private static SkyScrubBuffer createScrubBuffer(StarCatalog catalog) {
+        int workers = Math.max(1, Math.min(2, Runtime.getRuntime().availableProcessors() - 2));
+        return new SkyScrubBuffer(catalog, SCRUB_BUDGET_BYTES, workers);
+    }
+
+    // Time scrubber grid: states at origin + k * step are prefetched around the model time
+    public void setScrubGrid(LocalDateTime origin, Duration step) {
+        scrubBuffer.setGrid(origin, step);
+    }
+
+    public SkyScrubBuffer getScrubBuffer() {
+        return scrubBuffer;
+    }
+
+    private void setupDetail() {
+        detailTiers = catalog.tiersBrighterThan(limitingMagnitude);
+        idleRefine = new PauseTransition(javafx.util.Duration.millis(300));
+        idleRefine.setOnFinished(event -> {
+            detailTiers++;
+            refining = true;
+            requestDraw();
+        });
+    }
+
+    public void setSkyStream(SkyStreamServer skyStream) {
+        this.skyStream = skyStream;
+        publishState();
+    }
+
+    public void publishState() {
+        if (skyStream != null && lastState != null) {
+            Transform transform = getLocalToParentTransform();
+            skyStream.publish(lastState, limitingMagnitude,
+                    Math.toDegrees(Math.atan2(transform.getMyx(), transform.getMxx())));
+        }
+    }
+
+    public void setStarBackend(StarBackend starBackend) {
+        this.starBackend = starBackend;
+        if (starBackend == StarBackend.CANVAS && starCanvas == null) {
+            starCanvas = new StarFieldCanvas(radius);
+        }
+        requestDraw();
+    }
+
+    public StarBackend getStarBackend() {
+        return starBackend;
+    }
+
+    // Integrated light of every tier not drawn as individual stars, under all rete nodes
+    public void setDensityBackground(boolean enabled) {
+        if (enabled && densityLayer == null) {
+            densityLayer = new StarDensityLayer(radius);
+        }
+        if (!enabled && densityLayer != null) {
+            densityLayer.cancel();
+        }
+        densityEnabled = enabled;
+        densityState = null;
+        layoutLayers();
+        requestDraw();
+    }
+
+    public boolean isDensityBackground() {
+        return densityEnabled;
+    }
+
+    public void setLimitingMagnitude(double limitingMagnitude) {
+        this.limitingMagnitude = limitingMagnitude;
+        detailTiers = catalog.tiersBrighterThan(limitingMagnitude);
+        requestDraw();
+    }
+
+    public double getLimitingMagnitude() {
+        return limitingMagnitude;
+    }
+
+    // With auto detail on, faint tiers are dropped while frames overrun the budget
+    // and added back one at a time once the rete has been idle for a moment
+    public void setAutoDetail(boolean autoDetail) {
+        this.autoDetail = autoDetail;
+        detailTiers = catalog.tiersBrighterThan(limitingMagnitude);
+        if (!autoDetail) {
+            idleRefine.stop();
+        }
+        requestDraw();
+    }
+
+    public boolean isAutoDetail() {
+        return autoDetail;
+    }
+
+    // Judged by the scheduler's counters after each frame: a frame past the budget, or
+    // work still carried over after DEFERRED_FRAMES frames, drops a tier. The budgets
+    // keep the elapsed time near the frame budget, so it is no signal on its own.
+    private void updateDetail() {
+        long overruns = scheduler.getOverruns();
+        long deferred = scheduler.getDeferred();
+        boolean overran = overruns > seenOverruns;
+        deferredFrames = deferred > seenDeferred ? deferredFrames + 1 : 0;
+        seenOverruns = overruns;
+        seenDeferred = deferred;
+
+        int maxTiers = catalog.tiersBrighterThan(limitingMagnitude);
+        if (!autoDetail) {
+            detailTiers = maxTiers;
+            return;
+        }
+
+        if (!refining && (overran || deferredFrames >= DEFERRED_FRAMES) && detailTiers > 1) {
+            detailTiers--;
+            deferredFrames = 0;
+        }
+        refining = false;
+
+        if (detailTiers < maxTiers) {
+            idleRefine.playFromStart();
+        }
+    }
+
+    private static class SkyRequest {
+        final SkyStateCache cache;
+        final SkyScrubBuffer scrub;
+        final double latitude;
+        final double longitude;
+        final LocalDateTime dateTime;
+        final int tiers;
+        // Visible bands for the latitude and epoch, so the compute thread culls without
+        // touching the FX-side band cache; never modified once handed over
+        final int[][] bands;
+        final double rate;
+        final boolean realTime;
+
+        SkyRequest(SkyStateCache cache, SkyScrubBuffer scrub, double latitude, double longitude,
+                   LocalDateTime dateTime, int tiers, int[][] bands, double rate, boolean realTime) {
+            this.cache = cache;
+            this.scrub = scrub;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.dateTime = dateTime;
+            this.tiers = tiers;
+            this.bands = bands;
+            this.rate = rate;
+            this.realTime = realTime;
+        }
+    }
+
+    // Coalesces any number of changes into one draw on the next pulse
+    public void requestDraw() {
+        dirty = true;
+        wakePulse();
+    }
+
+    // The pulse stops itself once nothing is pending, so an idle rete costs no frames
+    private void wakePulse() {
+        if (!pulseRunning) {
+            pulseRunning = true;
+            pulse.start();
+        }
+    }
+
+    // Repaints the grid and tropics when their inputs changed and asks for a new sky
+    // state; the sky itself is repainted on the pulse after the state is ready
+    public void draw() {
+        ModelSnapshot observer = model.getSnapshot();
+        double t = (AstroMath.toJulianDate(observer.getDateTime()) - 2451545.0) / 36525.0;
+        // Grid and tropics only change with latitude or epoch; they are built off the FX
+        // thread, and a newer change cancels a build still running. Each build paints the
+        // values it is keyed by, not whatever the model holds once the worker runs.
+        double latitude = observer.getLatitude();
+        gridLayer.updateAsync(latitude, sceneBuilder,
+                layer -> face.drawGrid(new FxPlateRenderer(layer), latitude));
+        tropicsLayer.updateAsync(List.of(latitude, (long) Math.floor(t)), sceneBuilder,
+                layer -> face.drawTropics(new FxPlateRenderer(layer), latitude, t));
+
+        int[][] bands = getVisibleBands(observer.getLatitude(), t);
+        int tiers = Math.min(detailTiers, bands.length);
+        SkyRequest request = new SkyRequest(skyCache, scrubBuffer, observer.getLatitude(), observer.getLongitude(),
+                observer.getDateTime(), tiers, bands, observer.getTimeRate(), observer.isRealTime());
+        if (pendingRequest.getAndSet(request) == null) {
+            computeThread.execute(this::computeSky);
+        }
+
+        // Real time ticks only as often as the fastest thing on the plate moves half a pixel
+        if (observer.isRealTime()) {
+            double seconds = TrackingCadence.interval(observer.getLatitude(), observer.getLongitude(),
+                    observer.getDateTime(), radius, REAL_TIME_PIXELS);
+            model.setRealTimeInterval(Duration.ofNanos(Math.round(seconds * 1e9)));
+        }
+    }
+
+    // Runs on the compute thread; requests that arrived meanwhile collapse into the latest
+    private void computeSky() {
+        SkyRequest request = pendingRequest.getAndSet(null);
+        if (request == null) return;
+        computeRequest(request);
+        Platform.runLater(this::wakePulse);
+    }
+
+    private void computeRequest(SkyRequest request) {
+        if (request.realTime) {
+            // Every tick is a new instant, often inside the cache's time quantum, which
+            // would hand back the same state; real time is computed exactly instead
+            mailbox.set(SkyState.computeTiers(request.cache.getCatalog(), request.latitude, request.longitude,
+                    request.dateTime, request.tiers, request.bands));
+            return;
+        }
+        if (request.rate == 0) {
+            // Scrubbing inside the prefetched window is only a lookup
+            SkyState state = request.scrub.get(request.latitude, request.longitude, request.dateTime, request.tiers);
+            mailbox.set(state != null ? state
+                    : request.cache.get(request.latitude, request.longitude, request.dateTime, request.tiers,
+                    request.bands));
+            return;
+        }
+
+        // Animating: full positions only at keyframes, extended once the animation gets
+        // within half a window of the end of the track
+        long window = (long) Math.max(120, Math.abs(request.rate) * TRACK_LOOKAHEAD_SECONDS);
+        SkyTrack current = computeTrack;
+        if (current == null || !current.matches(request.cache.getCatalog(), request.latitude, request.longitude,
+                request.tiers)) {
+            current = new SkyTrack(request.cache.getCatalog(), request.latitude, request.longitude, request.tiers,
+                    TRACK_TOLERANCE, Duration.ofMinutes(1), Duration.ofHours(1));
+        }
+        if (!current.covers(request.dateTime.minusSeconds(window / 2), request.dateTime.plusSeconds(window / 2))) {
+            current = current.cover(request.dateTime.minusSeconds(window), request.dateTime.plusSeconds(window));
+            computeTrack = current;
+            trackMailbox.set(current);
+        }
+        mailbox.set(current.sample(request.dateTime));
+    }
+
+    private void setupPulse() {
+        pulse = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                if (dirty) {
+                    dirty = false;
+                    draw();
+                }
+
+                SkyTrack keys = trackMailbox.getAndSet(null);
+                if (keys != null && keys.getCatalog() == catalog && isAnimating) {
+                    track = keys;
+                }
+
+                SkyState state = mailbox.getAndSet(null);
+                boolean fresh = state != null && state.getCatalog() == catalog;
+                if (fresh) {
+                    if (shownState != null && shownState.getDateTime().isBefore(state.getDateTime())) {
+                        previousState = shownState;
+                    }
+                    shownState = state;
+                }
+                boolean moving = clock.isRunning() && (track != null || previousState != null);
+                if ((fresh || moving) && shownState != null) {
+                    scheduleSky();
+                }
+                if (scheduler.getBacklog() == 0) {
+                    if (!dirty && pendingRequest.get() == null && mailbox.get() == null && !clock.isRunning()) {
+                        pulseRunning = false;
+                        stop();
+                    }
+                    return;
+                }
+
+                scheduler.runFrame();
+                updateDetail();
+            }
+        };
+        wakePulse();
+    }
+
+    // While the clock runs, the sky at the render time: sampled from the keyframes when they
+    // cover it, else between the last two computed states
+    private SkyState frameState() {
+        if (clock.isRunning() && track != null) {
+            LocalDateTime renderTime = clock.getRenderTime();
+            if (track.matches(catalog, shownState.getLatitude(), shownState.getLongitude(), shownState.getTierCount())
+                    && track.covers(renderTime)) {
+                return track.sample(renderTime);
+            }
+        }
+        if (!clock.isRunning() || previousState == null) {
+            return shownState;
+        }
+        long span = Duration.between(previousState.getDateTime(), shownState.getDateTime()).toNanos();
+        long elapsed = Duration.between(previousState.getDateTime(), clock.getRenderTime()).toNanos();
+        double f = Math.max(0, Math.min(1, (double) elapsed / span));
+        return SkyState.interpolate(previousState, shownState, f);
+    }
+
+    // Queues this frame's sky; tasks read the frame state when they run, so one deferred
+    // from an earlier frame draws the latest sky
+    private void scheduleSky() {
+        frame = frameState();
+        double t = (AstroMath.toJulianDate(frame.getDateTime()) - 2451545.0) / 36525.0;
+        int[][] bands = getVisibleBands(frame.getLatitude(), t);
+
+        List<int[]> ranges = new ArrayList<>();
+        if (starBackend == StarBackend.NODES) {
+            for (int k = 1; k < frame.getTierCount(); k++) {
+                for (int from = bands[k][0]; from < bands[k][1]; from += FAINT_CHUNK) {
+                    ranges.add(new int[]{from, Math.min(from + FAINT_CHUNK, bands[k][1])});
+                }
+            }
+        }
+        faintRanges = ranges;
+        while (faintLayers.size() < ranges.size()) {
+            int chunk = faintLayers.size();
+            Layer layer = new Layer(Layer.Kind.FRAME, l -> drawFaintStars(l, chunk));
+            faintLayers.add(layer);
+            faintGroup.getChildren().add(layer);
+        }
+        for (int j = ranges.size(); j < faintLayers.size(); j++) {
+            faintLayers.get(j).getChildren().clear();
+        }
+
+        scheduler.submit(FrameScheduler.Priority.PLANETS, skyLayer, () -> skyLayer.update(null));
+        scheduler.submit(FrameScheduler.Priority.GRID, eclipticLayer, () -> eclipticLayer.update(null));
+        for (int j = 0; j < ranges.size(); j++) {
+            Layer layer = faintLayers.get(j);
+            scheduler.submit(FrameScheduler.Priority.FAINT_STARS, layer, () -> layer.update(null));
+        }
+        // The glow follows computed states only, not every interpolated frame
+        if (densityEnabled && densityState != shownState) {
+            densityState = shownState;
+            scheduler.submit(FrameScheduler.Priority.FAINT_STARS, densityLayer, this::renderDensity);
+        }
+        scheduler.submit(FrameScheduler.Priority.LABELS, labelLayer, () -> labelLayer.update(null));
+    }
+
+    // Planets, Moon and the brightest tier; on the canvas backend every star
+    private void drawSky(Group layer) {
+        if (frame == null) return;
+        SkyState state = frame;
+        PlateRenderer sky = new FxPlateRenderer(layer);
+        LocalDateTime now = state.getDateTime();
+        double t = (AstroMath.toJulianDate(now) - 2451545.0) / 36525.0;
+
+        if (starBackend == StarBackend.CANVAS) {
+            starCanvas.clear();
+            layer.getChildren().add(starCanvas);
+        }
+
+        int[][] bands = getVisibleBands(state.getLatitude(), t);
+        int tiers = starBackend == StarBackend.CANVAS ? state.getTierCount() : Math.min(1, state.getTierCount());
+        for (int k = 0; k < tiers; k++) {
+            drawStars(sky, state, bands[k][0], bands[k][1], k == 0);
+        }
+
+        face.drawPlanets(sky, state);
+        face.drawMoon(sky, now);
+        face.drawZenith(sky);
+
+        lastState = state;
+        publishState();
+    }
+
+    private void drawFaintStars(Group layer, int chunk) {
+        List<int[]> ranges = faintRanges;
+        if (frame == null || chunk >= ranges.size()) return;
+        int[] range = ranges.get(chunk);
+        drawStars(new FxPlateRenderer(layer), frame, range[0], range[1], false);
+    }
+
+    private void drawStars(PlateRenderer sky, SkyState state, int from, int to, boolean pointers) {
+        for (int i = from; i < to; i++) {
+            if (catalog.getMagnitude(i) > limitingMagnitude || !state.isStarVisible(i)) continue;
+            addStar(state.getStarX(i) * radius, state.getStarY(i) * radius, catalog.getMagnitude(i),
+                    catalog.getColorIndex(i), pointers, sky);
+        }
+    }
+
+    private void drawEcliptic(Group layer) {
+        if (frame == null) return;
+        LocalDateTime now = frame.getDateTime();
+        face.drawEcliptic(new FxPlateRenderer(layer), frame.getLatitude(),
+                AstroMath.calculateLocalSiderealTime(frame.getLongitude(), now),
+                (AstroMath.toJulianDate(now) - 2451545.0) / 36525.0);
+    }
+
+    // Names of the brightest tier, and their pointers unless the canvas drew them
+    private void drawLabels(Group layer) {
+        if (frame == null || frame.getTierCount() == 0) return;
+        PlateRenderer sky = new FxPlateRenderer(layer);
+        int[] band = getVisibleBands(frame.getLatitude(),
+                (AstroMath.toJulianDate(frame.getDateTime()) - 2451545.0) / 36525.0)[0];
+        for (int i = band[0]; i < band[1]; i++) {
+            if (catalog.getMagnitude(i) > limitingMagnitude || !frame.isStarVisible(i)) continue;
+            double x = frame.getStarX(i) * radius;
+            double y = frame.getStarY(i) * radius;
+            if (starBackend == StarBackend.NODES) {
+                face.drawStarPointer(sky, x, y);
+            }
+            face.drawStarLabel(sky, catalog.getName(i), x, y, catalog.getMagnitude(i));
+        }
+    }
+
+    private void renderDensity() {
+        if (!densityEnabled || frame == null) return;
+        LocalDateTime now = frame.getDateTime();
+        densityLayer.render(catalog, frame.getTierCount(),
+                AstroMath.calculateLocalSiderealTime(frame.getLongitude(), now),
+                (AstroMath.toJulianDate(now) - 2451545.0) / 36525.0, frame.getLatitude());
+    }
+
+    // Catalog index ranges for the current latitude, recomputed only when the latitude
+    // changes or the epoch moves into another century of precession drift
+    private int[][] getVisibleBands(double latitude, double t) {
+        int century = (int) Math.ceil(Math.abs(t));
+        if (visibleBands == null || latitude != bandLatitude || century != bandCentury) {
+            visibleBands = catalog.visibleBands(latitude, StarCatalog.bandMargin(t));
+            bandLatitude = latitude;
+            bandCentury = century;
+        }
+        return visibleBands;
+    }
+
+    // However many steps a frame takes, the model changes once; the timer only runs
+    // while the animation plays
+    private void setupAnimation() {
+        clock = new SimulationClock(model.getDateTime(), Duration.ofNanos(1_000_000_000L / 30), 4);
+        clockTimer = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                clock.setRate(model.getTimeRate());
+                if (clock.advance(now) > 0) {
+                    model.setDateTime(clock.getCurrentTime());
+                }
+            }
+        };
+
+        // Dates set from elsewhere move the clock along
+        model.dateTimeProperty().addListener((obs, oldVal, newVal) -> {
+            if (!newVal.equals(clock.getCurrentTime())) {
+                clock.setTime(newVal);
+            }
+        });
+    }
+
+    public void playAnimation() {
+        isAnimating = true;
+        model.setTimeRate(ANIMATION_RATE * animationSpeed);
+        clock.setTime(model.getDateTime());
+        clock.start();
+        clockTimer.start();
+        wakePulse();
+    }
+
+    public void pauseAnimation() {
+        isAnimating = false;
+        model.setTimeRate(0);
+        clock.pause();
+        clockTimer.stop();
+        previousState = null;
+        track = null;
+        requestDraw();
+    }
+
+    public void stopAnimation() { pauseAnimation(); }
+
+    public void setAnimationSpeed(int speedMultiplier) {
+        this.animationSpeed = speedMultiplier;
+        if (isAnimating) {
+            model.setTimeRate(ANIMATION_RATE * animationSpeed);
+        }
+    }
+    public void fastForward(int hours) { model.setDateTime(model.getDateTime().plusHours(hours)); }
+    public void rewind(int hours) { model.setDateTime(model.getDateTime().minusHours(hours)); }
+    public void stepForward(int minutes) { model.setDateTime(model.getDateTime().plusMinutes(minutes)); }
+    public void stepBackward(int minutes) { model.setDateTime(model.getDateTime().minusMinutes(minutes)); }
+    public boolean isAnimating() { return isAnimating; }
+
+    // The star, and on the canvas its pointer; labels and node pointers are in the label layer
+    private void addStar(double x, double y, double magnitude, double bv, boolean pointer, PlateRenderer sky) {
+        if (starBackend == StarBackend.CANVAS) {
+            starCanvas.plotStar(x, y, magnitude, bv);
+            if (pointer) {
+                starCanvas.plotPointer(x, y);
+            }
+        } else {
+            face.drawStar(sky, null, x, y, magnitude, false);
+        }
+    }
+
+    public void updateMoonPhase() {
+        requestDraw();
+    }
+}
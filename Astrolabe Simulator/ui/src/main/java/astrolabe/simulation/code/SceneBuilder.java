@@ -0,0 +1,114 @@
+package astrolabe.simulation.code;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javafx.application.Platform;
+import javafx.scene.Group;
+import javafx.scene.Node;
+
+public class SceneBuilder {
+    // Builds node subtrees on worker threads while they are still detached, which JavaFX
+    // allows, and swaps each finished one into its holder with a single children set on
+    // the FX thread. Builds are keyed by holder: a newer build for the same holder cancels
+    // the older one (interrupting it if it already runs), and a superseded result is never
+    // swapped in. build() and the counters belong to the FX thread.
+    private static final Logger LOG = Logger.getLogger(SceneBuilder.class.getName());
+
+    private final ExecutorService workers;
+    private final Map<Group, Future<?>> jobs = new HashMap<>();
+    private long builds;
+    private long cancelled;
+    private long swapped;
+    private long failed;
+
+    public SceneBuilder(int threads) {
+        workers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "scene-build");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // The holder keeps its current content until the new subtree is ready
+    public void build(Group holder, Supplier<? extends Node> builder) {
+        Future<?> previous = jobs.remove(holder);
+        if (previous != null && previous.cancel(true)) {
+            cancelled++;
+        }
+        builds++;
+
+        Future<?>[] job = new Future<?>[1];
+        job[0] = workers.submit(() -> {
+            Node node;
+            try {
+                node = builder.get();
+            } catch (CancellationException e) {
+                return; // interrupted between primitive batches
+            } catch (RuntimeException e) {
+                LOG.log(Level.WARNING, "Scene build failed", e);
+                Platform.runLater(() -> fail(holder, job[0]));
+                return;
+            }
+            if (Thread.currentThread().isInterrupted()) return;
+            Platform.runLater(() -> swapIn(holder, job[0], node));
+        });
+        jobs.put(holder, job[0]);
+    }
+
+    private void swapIn(Group holder, Future<?> job, Node node) {
+        if (jobs.get(holder) != job) return; // superseded by a newer build
+        jobs.remove(holder);
+        if (holder.getChildren().isEmpty()) {
+            holder.getChildren().add(node);
+        } else if (holder.getChildren().get(0) != node) {
+            holder.getChildren().set(0, node);
+        }
+        swapped++;
+    }
+
+    // The holder keeps its last good subtree; the next build for it tries again
+    private void fail(Group holder, Future<?> job) {
+        if (jobs.get(holder) != job) return;
+        jobs.remove(holder);
+        failed++;
+    }
+
+    // Drops a pending build without a replacement
+    public void cancel(Group holder) {
+        Future<?> job = jobs.remove(holder);
+        if (job != null && job.cancel(true)) {
+            cancelled++;
+        }
+    }
+
+    public boolean isBuilding(Group holder) {
+        return jobs.containsKey(holder);
+    }
+
+    public int getPending() {
+        return jobs.size();
+    }
+
+    public long getBuilds() {
+        return builds;
+    }
+
+    public long getCancelled() {
+        return cancelled;
+    }
+
+    public long getSwapped() {
+        return swapped;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+}
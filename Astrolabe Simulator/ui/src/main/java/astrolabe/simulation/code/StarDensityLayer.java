@@ -0,0 +1,141 @@
+package astrolabe.simulation.code;
+
+import astrolabe.simulation.core.AstroMath;
+import astrolabe.simulation.core.Projection;
+import astrolabe.simulation.core.StarCatalog;
+import javafx.application.Platform;
+import javafx.scene.image.ImageView;
+import javafx.scene.image.PixelBuffer;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+public class StarDensityLayer extends ImageView {
+    // A lone magnitude 6.5 star reaches ~63% of full brightness
+    private static final double EXPOSURE = 400.0;
+
+    private final double radius;
+    private final int size;
+    private final PixelBuffer<IntBuffer> pixelBuffer;
+    private final ExecutorService renderThread;
+    private final AtomicLong generation = new AtomicLong();
+
+    public StarDensityLayer(double radius) {
+        this.radius = radius;
+        this.size = (int) Math.ceil(radius * 2);
+
+        IntBuffer buffer = ByteBuffer.allocateDirect(size * size * 4).order(ByteOrder.nativeOrder()).asIntBuffer();
+        pixelBuffer = new PixelBuffer<>(size, size, buffer, PixelFormat.getIntArgbPreInstance());
+        setImage(new WritableImage(pixelBuffer));
+        setLayoutX(-radius);
+        setLayoutY(-radius);
+        setMouseTransparent(true);
+
+        renderThread = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "star-density");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Renders every catalog row from the given tier on into the layer. Runs off the FX
+    // thread; a render superseded by a newer request is dropped before it is posted.
+    public void render(StarCatalog catalog, int fromTier, double lst, double t, double latitude) {
+        long requested = generation.incrementAndGet();
+        renderThread.execute(() -> {
+            if (requested != generation.get()) return;
+            int[] pixels = accumulate(catalog, fromTier, lst, t, latitude);
+            if (requested != generation.get()) return;
+
+            Platform.runLater(() -> pixelBuffer.updateBuffer(buffer -> {
+                buffer.getBuffer().put(0, pixels);
+                return null;
+            }));
+        });
+    }
+
+    // Drops any render still queued or running, e.g. when the layer is switched off
+    public void cancel() {
+        generation.incrementAndGet();
+    }
+
+    private int[] accumulate(StarCatalog catalog, int fromTier, double lst, double t, double latitude) {
+        int from = catalog.getTierStart(Math.min(fromTier, catalog.getTierCount()));
+        int count = catalog.size() - from;
+        int workers = Runtime.getRuntime().availableProcessors();
+
+        // Project in parallel chunks of the catalog into pixel indices and fluxes
+        int[] pixelIndex = new int[count];
+        float[] flux = new float[count];
+        int chunk = (count + workers - 1) / workers;
+        IntStream.range(0, workers).parallel().forEach(w -> {
+            int end = Math.min(count, (w + 1) * chunk);
+            for (int j = w * chunk; j < end; j++) {
+                int i = from + j;
+                double[] precessed = AstroMath.precessCoordinates(catalog.getRa(i), catalog.getDec(i), t);
+                double[] altAz = AstroMath.equatorialToHorizontal(lst - precessed[0] * 15, precessed[1], latitude);
+                if (altAz[0] > -1) {
+                    altAz[0] = AstroMath.applyAtmosphericRefraction(altAz[0]);
+                }
+                double[] xy = Projection.stereographicProjection(altAz[0], altAz[1], radius);
+
+                int px = (int) (xy[0] + radius);
+                int py = (int) (xy[1] + radius);
+                if (Double.isNaN(xy[0]) || px < 0 || py < 0 || px >= size || py >= size) {
+                    pixelIndex[j] = -1;
+                } else {
+                    pixelIndex[j] = py * size + px;
+                    flux[j] = (float) Math.pow(10, -0.4 * catalog.getMagnitude(i));
+                }
+            }
+        });
+
+        // Group the stars by horizontal stripe once (counting sort), then bin and tone map
+        // each stripe on its own worker, so no two workers touch the same pixel
+        int rows = (size + workers - 1) / workers;
+        int stripePixels = rows * size;
+        int[] stripeStart = new int[workers + 1];
+        for (int j = 0; j < count; j++) {
+            if (pixelIndex[j] >= 0) stripeStart[pixelIndex[j] / stripePixels + 1]++;
+        }
+        for (int w = 0; w < workers; w++) {
+            stripeStart[w + 1] += stripeStart[w];
+        }
+        int[] order = new int[stripeStart[workers]];
+        int[] next = stripeStart.clone();
+        for (int j = 0; j < count; j++) {
+            if (pixelIndex[j] >= 0) order[next[pixelIndex[j] / stripePixels]++] = j;
+        }
+
+        float[] accum = new float[size * size];
+        int[] pixels = new int[size * size];
+        IntStream.range(0, workers).parallel().forEach(w -> {
+            for (int k = stripeStart[w]; k < stripeStart[w + 1]; k++) {
+                accum[pixelIndex[order[k]]] += flux[order[k]];
+            }
+            int lo = Math.min(size, w * rows) * size;
+            int hi = Math.min(size, (w + 1) * rows) * size;
+            for (int p = lo; p < hi; p++) {
+                pixels[p] = toneMap(accum[p]);
+            }
+        });
+        return pixels;
+    }
+
+    // Exponential tone curve into premultiplied, slightly blue-white ARGB
+    private static int toneMap(float flux) {
+        if (flux <= 0) return 0;
+        double v = 1 - Math.exp(-EXPOSURE * flux);
+        int a = (int) (v * 255);
+        int r = (int) (v * 200);
+        int g = (int) (v * 210);
+        int b = (int) (v * 255);
+        return (a << 24) | (r << 16) | (g << 8) | b;
+    }
+}
@@ -0,0 +1,85 @@
+package astrolabe.simulation.code;
+
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+
+public class StarFieldCanvas extends Canvas {
+    // Size LUT: quarter-magnitude steps from -2 to +10
+    private static final double MAG_MIN = -2.0;
+    private static final double MAG_STEP = 0.25;
+    private static final double[] SIZE_LUT = new double[49];
+
+    // Colour LUT: B-V index in 0.05 steps from -0.4 to +2.0
+    private static final double BV_MIN = -0.4;
+    private static final double BV_STEP = 0.05;
+    private static final Color[] COLOR_LUT = new Color[49];
+
+    static {
+        for (int i = 0; i < SIZE_LUT.length; i++) {
+            double magnitude = MAG_MIN + i * MAG_STEP;
+            SIZE_LUT[i] = Math.max(0.5, Math.min(8 - magnitude * 2, 10) / 2);
+        }
+        for (int i = 0; i < COLOR_LUT.length; i++) {
+            COLOR_LUT[i] = colorForBv(BV_MIN + i * BV_STEP);
+        }
+    }
+
+    private final double radius;
+    private final GraphicsContext gc;
+
+    public StarFieldCanvas(double radius) {
+        super(radius * 2, radius * 2);
+        this.radius = radius;
+        this.gc = getGraphicsContext2D();
+        setLayoutX(-radius);
+        setLayoutY(-radius);
+        setMouseTransparent(true);
+    }
+
+    public void clear() {
+        gc.clearRect(0, 0, getWidth(), getHeight());
+    }
+
+    public void plotStar(double x, double y, double magnitude, double bv) {
+        double size = SIZE_LUT[lutIndex(magnitude, MAG_MIN, MAG_STEP, SIZE_LUT.length)];
+        gc.setFill(Double.isNaN(bv) ? Color.rgb(220, 220, 220)
+                : COLOR_LUT[lutIndex(bv, BV_MIN, BV_STEP, COLOR_LUT.length)]);
+
+        double cx = x + radius;
+        double cy = y + radius;
+        if (size <= 1) {
+            gc.fillRect(cx - size, cy - size, size * 2, size * 2);
+        } else {
+            gc.fillOval(cx - size, cy - size, size * 2, size * 2);
+        }
+    }
+
+    public void plotPointer(double x, double y) {
+        gc.setStroke(Color.rgb(200, 200, 200));
+        gc.setLineWidth(0.5);
+        gc.strokeLine(radius, radius, x + radius, y + radius);
+    }
+
+    private static int lutIndex(double value, double min, double step, int length) {
+        int index = (int) Math.round((value - min) / step);
+        return Math.max(0, Math.min(index, length - 1));
+    }
+
+    // B-V to colour via Ballesteros' temperature estimate and a blackbody RGB fit
+    private static Color colorForBv(double bv) {
+        double temperature = 4600 * (1 / (0.92 * bv + 1.7) + 1 / (0.92 * bv + 0.62));
+        double t = temperature / 100;
+
+        double r = t <= 66 ? 255 : 329.698727446 * Math.pow(t - 60, -0.1332047592);
+        double g = t <= 66 ? 99.4708025861 * Math.log(t) - 161.1195681661
+                : 288.1221695283 * Math.pow(t - 60, -0.0755148492);
+        double b = t >= 66 ? 255 : t <= 19 ? 0 : 138.5177312231 * Math.log(t - 10) - 305.0447927307;
+
+        return Color.rgb(clamp(r), clamp(g), clamp(b));
+    }
+
+    private static int clamp(double channel) {
+        return (int) Math.max(0, Math.min(255, channel));
+    }
+}
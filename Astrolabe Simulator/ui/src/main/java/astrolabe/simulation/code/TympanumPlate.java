@@ -0,0 +1,22 @@
+package astrolabe.simulation.code;
+
+import astrolabe.simulation.core.Tympanum;
+import javafx.scene.CacheHint;
+import javafx.scene.Group;
+
+public class TympanumPlate extends Group {
+    private final Tympanum tympanum;
+
+    public TympanumPlate(Tympanum tympanum) {
+        this.tympanum = tympanum;
+        this.getStyleClass().add("tympanum");
+        tympanum.draw(new FxPlateRenderer(this));
+        setMouseTransparent(true);
+        setCache(true);
+        setCacheHint(CacheHint.QUALITY);
+    }
+
+    public Tympanum getTympanum() {
+        return tympanum;
+    }
+}
@@ -1,8 +1,10 @@
 module astrolabe.simulation.code.astrolabesimulator {
-    requires javafx.controls;
+    requires transitive javafx.controls;
     requires javafx.fxml;
+    requires java.logging;
+    requires transitive astrolabe.simulation.core;
 
 
     opens astrolabe.simulation.code to javafx.fxml;
     exports astrolabe.simulation.code;
-}
\ No newline at end of file
+}